@@ -0,0 +1,271 @@
+/*
+ * Title:        EdgeCloudSim - Benchmark Scenario
+ *
+ * Description:
+ * BenchmarkScenario prepares the simulation of a sample application for
+ * the benchmarks. The configuration files of the application in the
+ * scripts folder are used after overriding some of the properties; the
+ * file logging is disabled and a fixed random seed is used by default.
+ * The task list is always generated in advance, since the benchmarks
+ * sample their tasks from it.
+ *
+ * SimSettings, SimManager, SimLogger and CloudSim keep their state in
+ * static fields, so only one scenario can be used in a JVM at a time.
+ * JMH runs each benchmark in a separate JVM, which is enough for the
+ * benchmarks in this package.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import edu.boun.edgecloudsim.applications.sample_app5.VehicularCpuUtilizationModel;
+import edu.boun.edgecloudsim.applications.sample_app5.WekaWrapper;
+import edu.boun.edgecloudsim.core.ScenarioFactory;
+import edu.boun.edgecloudsim.core.SimManager;
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
+import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimRandom;
+import edu.boun.edgecloudsim.utils.TaskProperty;
+
+public class BenchmarkScenario {
+	//the scripts folder is searched in the folder given by this system property
+	public static final String HOME_PROPERTY = "edgecloudsim.home";
+	public static final String DEFAULT_RANDOM_SEED = "1";
+
+	private String app;
+	private File configFolder;
+	private Properties properties;
+	private File outputFolder;
+	private SimManager manager;
+
+	/**
+	 * @param _app name of the sample application, e.g. sample_app1
+	 */
+	public BenchmarkScenario(String _app) throws IOException {
+		app = _app;
+		configFolder = new File(System.getProperty(HOME_PROPERTY, "."), "scripts/" + app + "/config");
+
+		properties = new Properties();
+		InputStream input = new FileInputStream(new File(configFolder, "default_config.properties"));
+		try {
+			properties.load(input);
+		}
+		finally {
+			input.close();
+		}
+
+		properties.setProperty("file_log_enabled", "false");
+		properties.setProperty("deep_file_log_enabled", "false");
+		properties.setProperty("random_seed", DEFAULT_RANDOM_SEED);
+		properties.setProperty("task_streaming_enabled", "false");
+	}
+
+	/**
+	 * overrides a property of the configuration file
+	 * the properties must be set before initializeSettings() is called
+	 */
+	public void setProperty(String name, String value) {
+		properties.setProperty(name, value);
+	}
+
+	/**
+	 * initializes SimSettings with the overridden configuration
+	 */
+	public void initializeSettings() throws IOException {
+		//disable console output of cloudsim library and this application
+		Log.disable();
+		SimLogger.disablePrintLog();
+
+		outputFolder = Files.createTempDirectory("edgecloudsim_" + app).toFile();
+		File configFile = new File(outputFolder, "benchmark_config.properties");
+		OutputStream output = new FileOutputStream(configFile);
+		try {
+			properties.store(output, "overridden configuration of " + app);
+		}
+		finally {
+			output.close();
+		}
+
+		SimSettings SS = SimSettings.getInstance();
+		if(SS.initialize(configFile.getPath(),
+				new File(configFolder, "edge_devices.xml").getPath(),
+				new File(configFolder, "applications.xml").getPath()) == false)
+			throw new IllegalStateException("cannot initialize simulation settings of " + app);
+
+		SimRandom.setMasterSeed(SS.getRandomSeed());
+
+		if(SS.getFileLoggingEnabled())
+			SimLogger.enableFileLog();
+		else
+			SimLogger.disableFileLog();
+
+		//the vehicular application uses the pre-trained models in the config folder
+		if(app.equals("sample_app5"))
+			WekaWrapper.getInstance().initialize("MultilayerPerceptron", "LinearRegression", configFolder.getPath() + "/weka/");
+	}
+
+	/**
+	 * creates the simulation entities as the main applications do,
+	 * the simulation is not started
+	 */
+	public void createSimulation(int numOfMobileDevices, String simScenario, String orchestratorPolicy) throws Exception {
+		SimLogger.getInstance().simStarted(outputFolder.getPath(),
+				"SIMRESULT_" + simScenario + "_"  + orchestratorPolicy + "_" + numOfMobileDevices + "DEVICES");
+
+		CloudSim.init(2, Calendar.getInstance(), false, 0.01);
+
+		Constructor<?> constructor = Class.forName(getScenarioFactoryClassName()).getDeclaredConstructor(
+				int.class, double.class, String.class, String.class);
+		constructor.setAccessible(true);
+		ScenarioFactory scenarioFactory = (ScenarioFactory)constructor.newInstance(
+				numOfMobileDevices, SimSettings.getInstance().getSimulationTime(), orchestratorPolicy, simScenario);
+
+		manager = new SimManager(scenarioFactory, numOfMobileDevices, simScenario, orchestratorPolicy);
+	}
+
+	/**
+	 * starts the simulation and processes the events until the given time,
+	 * so that the models can be called in a realistic state
+	 */
+	public void runUntil(double time) {
+		startDatacenters();
+		CloudSim.runStart();
+		while(CloudSim.clock() < time) {
+			if(CloudSim.runClockTick())
+				break;
+		}
+	}
+
+	/**
+	 * runs the simulation until it is stopped as SimManager.startSimulation()
+	 * does, and returns the number of the processed events
+	 */
+	public long run() {
+		long numOfEvents = 0;
+
+		startDatacenters();
+		CloudSim.runStart();
+		while(!CloudSim.runClockTick())
+			numOfEvents += DeferredEventCounter.getNumOfDeferredEvents();
+
+		CloudSim.finishSimulation();
+		CloudSim.runStop();
+		return numOfEvents;
+	}
+
+	/**
+	 * creates tasks of the randomly selected task properties of the load
+	 * generator, the tasks are submitted at the current simulation time
+	 * and they are not sent to the devices
+	 */
+	public List<Task> createTasks(int numOfTasks, long seed) {
+		List<TaskProperty> taskList = manager.getLoadGeneratorModel().getTaskList();
+		Random random = new Random(seed);
+		List<Task> result = new ArrayList<Task>(numOfTasks);
+
+		for(int i=0; i<numOfTasks; i++) {
+			TaskProperty edgeTask = taskList.get(random.nextInt(taskList.size()));
+			UtilizationModel utilizationModel = new UtilizationModelFull();
+			UtilizationModel utilizationModelCPU = manager.getMobileDeviceManager().getCpuUtilizationModel();
+
+			Task task = new Task(edgeTask.getMobileDeviceId(), Integer.MAX_VALUE - i,
+					edgeTask.getLength(), edgeTask.getPesNumber(),
+					edgeTask.getInputFileSize(), edgeTask.getOutputFileSize(),
+					utilizationModelCPU, utilizationModel, utilizationModel);
+
+			task.setUserId(manager.getMobileDeviceManager().getId());
+			task.setTaskType(edgeTask.getTaskType());
+			if(utilizationModelCPU instanceof CpuUtilizationModel_Custom)
+				((CpuUtilizationModel_Custom)utilizationModelCPU).setTask(task);
+			else if(utilizationModelCPU instanceof VehicularCpuUtilizationModel)
+				((VehicularCpuUtilizationModel)utilizationModelCPU).setTask(task);
+
+			task.setSubmittedLocation(manager.getMobilityModel().getLocation(task.getMobileDeviceId(), CloudSim.clock()));
+			result.add(task);
+		}
+		return result;
+	}
+
+	/**
+	 * deletes the temporary output folder
+	 */
+	public void close() {
+		if(outputFolder == null)
+			return;
+
+		File[] files = outputFolder.listFiles();
+		if(files != null)
+			for(File file : files)
+				file.delete();
+		outputFolder.delete();
+		outputFolder = null;
+	}
+
+	public SimManager getSimManager() {
+		return manager;
+	}
+
+	/**
+	 * returns the last simulation scenario of the configuration,
+	 * which is the one using the edge orchestrator in the sample applications
+	 */
+	public String getDefaultSimScenario() {
+		String[] simScenarios = properties.getProperty("simulation_scenarios").split(",");
+		return simScenarios[simScenarios.length - 1];
+	}
+
+	/**
+	 * returns the first orchestrator policy of the configuration
+	 */
+	public String getDefaultOrchestratorPolicy() {
+		return properties.getProperty("orchestrator_policies").split(",")[0];
+	}
+
+	private String getScenarioFactoryClassName() {
+		String packageName = "edu.boun.edgecloudsim.applications." + app;
+		if(app.equals("sample_app4"))
+			return packageName + ".FuzzyScenarioFactory";
+		else if(app.equals("sample_app5"))
+			return packageName + ".VehicularScenarioFactory";
+		else
+			return packageName + ".SampleScenarioFactory";
+	}
+
+	private void startDatacenters() {
+		int brokerId = manager.getMobileDeviceManager().getId();
+		try {
+			manager.getEdgeServerManager().startDatacenters();
+			manager.getEdgeServerManager().createVmList(brokerId);
+			manager.getCloudServerManager().startDatacenters();
+			manager.getCloudServerManager().createVmList(brokerId);
+			manager.getMobileServerManager().startDatacenters();
+			manager.getMobileServerManager().createVmList(brokerId);
+		}
+		catch (Exception e) {
+			throw new IllegalStateException("datacenters of " + app + " cannot be started", e);
+		}
+	}
+}
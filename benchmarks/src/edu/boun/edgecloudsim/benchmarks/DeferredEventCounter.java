@@ -0,0 +1,27 @@
+/*
+ * Title:        EdgeCloudSim - Deferred Event Counter
+ *
+ * Description:
+ * CloudSim moves the events of the next time instant from the future
+ * queue to the deferred queue at the end of each clock tick, and the
+ * entities process them in the following tick. Therefore the size of
+ * the deferred queue after a tick is the number of events which will
+ * be processed in the next tick. The queue is protected in CloudSim,
+ * so it is accessed through this subclass.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmarks;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+class DeferredEventCounter extends CloudSim {
+	private DeferredEventCounter() {
+	}
+
+	static int getNumOfDeferredEvents() {
+		return deferred.size();
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Title:        EdgeCloudSim - Edge Orchestrator Benchmark
+ *
+ * Description:
+ * EdgeOrchestratorBenchmark measures the cost of the offloading decision
+ * and the VM selection of the orchestrator policies of the sample
+ * applications. The simulation is run until the end of the warm up
+ * period before the measurement, so the decisions are made with the
+ * VM utilizations and the network load of that time.
+ *
+ * The policy parameter is given as application:policy; the last
+ * simulation scenario in the configuration of the application is used.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.cloudbus.cloudsim.Vm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EdgeOrchestratorBenchmark {
+	private static final int NUM_OF_TASKS = 1 << 12; //must be a power of two
+
+	@Param({
+		"sample_app1:RANDOM_FIT", "sample_app1:FIRST_FIT", "sample_app1:NEXT_FIT", "sample_app1:BEST_FIT", "sample_app1:WORST_FIT",
+		"sample_app2:NETWORK_BASED", "sample_app2:UTILIZATION_BASED", "sample_app2:HYBRID",
+		"sample_app3:ONLY_EDGE", "sample_app3:ONLY_MOBILE", "sample_app3:HYBRID",
+		"sample_app4:NETWORK_BASED", "sample_app4:UTILIZATION_BASED", "sample_app4:FUZZY_BASED", "sample_app4:FUZZY_COMPETITOR", "sample_app4:HYBRID",
+		"sample_app5:RANDOM", "sample_app5:PREDICTIVE", "sample_app5:GAME_THEORY", "sample_app5:MAB", "sample_app5:AI_BASED"
+	})
+	public String policy;
+
+	@Param({"1000"})
+	public int numOfMobileDevices;
+
+	private BenchmarkScenario scenario;
+	private EdgeOrchestrator edgeOrchestrator;
+	private Task[] tasks;
+	private int[] selectedDeviceIds;
+	private int taskIndex;
+
+	@Setup
+	public void setup() throws Exception {
+		String[] appAndPolicy = policy.split(":");
+		scenario = new BenchmarkScenario(appAndPolicy[0]);
+		scenario.initializeSettings();
+		scenario.createSimulation(numOfMobileDevices, scenario.getDefaultSimScenario(), appAndPolicy[1]);
+		scenario.runUntil(SimSettings.getInstance().getWarmUpPeriod());
+		edgeOrchestrator = scenario.getSimManager().getEdgeOrchestrator();
+
+		List<Task> taskList = scenario.createTasks(NUM_OF_TASKS, Long.parseLong(BenchmarkScenario.DEFAULT_RANDOM_SEED));
+		tasks = taskList.toArray(new Task[NUM_OF_TASKS]);
+
+		//the VM selection is measured for the devices selected by the policy
+		selectedDeviceIds = new int[NUM_OF_TASKS];
+		for(int i=0; i<NUM_OF_TASKS; i++)
+			selectedDeviceIds[i] = edgeOrchestrator.getDeviceToOffload(tasks[i]);
+	}
+
+	@TearDown
+	public void tearDown() {
+		scenario.close();
+	}
+
+	@Benchmark
+	public int getDeviceToOffload() {
+		return edgeOrchestrator.getDeviceToOffload(tasks[taskIndex++ & (NUM_OF_TASKS - 1)]);
+	}
+
+	@Benchmark
+	public Vm getVmToOffload() {
+		int i = taskIndex++ & (NUM_OF_TASKS - 1);
+		return edgeOrchestrator.getVmToOffload(tasks[i], selectedDeviceIds[i]);
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Title:        EdgeCloudSim - Mobility Model Benchmark
+ *
+ * Description:
+ * MobilityModelBenchmark measures the cost of a location query of the
+ * nomadic (sample_app1) and vehicular (sample_app5) mobility models.
+ * The queries are made for random devices at random times within the
+ * simulation time, which is the worst case for the models caching the
+ * last position of the devices.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.mobility.MobilityModel;
+import edu.boun.edgecloudsim.utils.Location;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MobilityModelBenchmark {
+	private static final int NUM_OF_QUERIES = 1 << 16; //must be a power of two
+
+	@Param({"sample_app1", "sample_app5"})
+	public String app;
+
+	@Param({"100", "1000", "2000"})
+	public int numOfMobileDevices;
+
+	private BenchmarkScenario scenario;
+	private MobilityModel mobilityModel;
+	private int[] deviceIds;
+	private double[] times;
+	private int queryIndex;
+
+	@Setup
+	public void setup() throws Exception {
+		scenario = new BenchmarkScenario(app);
+		scenario.initializeSettings();
+		scenario.createSimulation(numOfMobileDevices, scenario.getDefaultSimScenario(), scenario.getDefaultOrchestratorPolicy());
+		mobilityModel = scenario.getSimManager().getMobilityModel();
+
+		Random random = new Random(Long.parseLong(BenchmarkScenario.DEFAULT_RANDOM_SEED));
+		double startTime = SimSettings.CLIENT_ACTIVITY_START_TIME;
+		double simulationTime = SimSettings.getInstance().getSimulationTime();
+		deviceIds = new int[NUM_OF_QUERIES];
+		times = new double[NUM_OF_QUERIES];
+		for(int i=0; i<NUM_OF_QUERIES; i++) {
+			deviceIds[i] = random.nextInt(numOfMobileDevices);
+			times[i] = startTime + random.nextDouble() * (simulationTime - startTime);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		scenario.close();
+	}
+
+	@Benchmark
+	public Location getLocation() {
+		int i = queryIndex++ & (NUM_OF_QUERIES - 1);
+		return mobilityModel.getLocation(deviceIds[i], times[i]);
+	}
+
+	@Benchmark
+	public int getServingWlanId() {
+		int i = queryIndex++ & (NUM_OF_QUERIES - 1);
+		return mobilityModel.getServingWlanId(deviceIds[i], times[i]);
+	}
+}
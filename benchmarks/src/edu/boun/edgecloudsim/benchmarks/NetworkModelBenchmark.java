@@ -0,0 +1,109 @@
+/*
+ * Title:        EdgeCloudSim - Network Model Benchmark
+ *
+ * Description:
+ * NetworkModelBenchmark measures the cost of the upload and download
+ * delay calculations of the M/M/1 queue model (sample_app1), the
+ * empirical model of sample_app2 and the vehicular network model
+ * (sample_app5). The simulation is run until the end of the warm up
+ * period before the measurement, so the models are called with the
+ * number of users and the load of that time.
+ *
+ * The delays of the tasks are calculated for the cloud and the edge in
+ * turn; the vehicular model is called for each connection type in turn.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.boun.edgecloudsim.applications.sample_app5.VehicularNetworkModel;
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
+import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.network.NetworkModel;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkModelBenchmark {
+	private static final int NUM_OF_TASKS = 1 << 12; //must be a power of two
+	private static final NETWORK_DELAY_TYPES[] DELAY_TYPES = NETWORK_DELAY_TYPES.values();
+
+	@Param({"sample_app1", "sample_app2", "sample_app5"})
+	public String app;
+
+	@Param({"200", "1000"})
+	public int numOfMobileDevices;
+
+	private BenchmarkScenario scenario;
+	private NetworkModel networkModel;
+	private VehicularNetworkModel vehicularNetworkModel;
+	private Task[] tasks;
+	private int taskIndex;
+
+	@Setup
+	public void setup() throws Exception {
+		scenario = new BenchmarkScenario(app);
+		scenario.initializeSettings();
+		scenario.createSimulation(numOfMobileDevices, scenario.getDefaultSimScenario(), scenario.getDefaultOrchestratorPolicy());
+		scenario.runUntil(SimSettings.getInstance().getWarmUpPeriod());
+
+		networkModel = scenario.getSimManager().getNetworkModel();
+		if(networkModel instanceof VehicularNetworkModel)
+			vehicularNetworkModel = (VehicularNetworkModel)networkModel;
+
+		List<Task> taskList = scenario.createTasks(NUM_OF_TASKS, Long.parseLong(BenchmarkScenario.DEFAULT_RANDOM_SEED));
+		tasks = taskList.toArray(new Task[NUM_OF_TASKS]);
+	}
+
+	@TearDown
+	public void tearDown() {
+		scenario.close();
+	}
+
+	@Benchmark
+	public double getUploadDelay() {
+		int i = taskIndex++;
+		Task task = tasks[i & (NUM_OF_TASKS - 1)];
+
+		if(vehicularNetworkModel != null)
+			return vehicularNetworkModel.getUploadDelay(DELAY_TYPES[i % DELAY_TYPES.length], task);
+
+		int destDeviceId = ((i & 1) == 0) ? SimSettings.CLOUD_DATACENTER_ID : SimSettings.GENERIC_EDGE_DEVICE_ID;
+		return networkModel.getUploadDelay(task.getMobileDeviceId(), destDeviceId, task);
+	}
+
+	@Benchmark
+	public double getDownloadDelay() {
+		int i = taskIndex++;
+		Task task = tasks[i & (NUM_OF_TASKS - 1)];
+
+		if(vehicularNetworkModel != null)
+			return vehicularNetworkModel.getDownloadDelay(DELAY_TYPES[i % DELAY_TYPES.length], task);
+
+		//the edge server serving the task is the one in the submitted location
+		int sourceDeviceId = ((i & 1) == 0) ? SimSettings.CLOUD_DATACENTER_ID : task.getSubmittedLocation().getServingWlanId();
+		return networkModel.getDownloadDelay(sourceDeviceId, task.getMobileDeviceId(), task);
+	}
+}
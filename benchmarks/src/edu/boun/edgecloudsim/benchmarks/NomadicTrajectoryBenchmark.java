@@ -0,0 +1,107 @@
+/*
+ * Title:        EdgeCloudSim - Nomadic Trajectory Benchmark
+ *
+ * Description:
+ * NomadicTrajectoryBenchmark compares the location queries of the
+ * nomadic mobility model, which keeps the trajectories in sorted arrays,
+ * with the former representation keeping a TreeMap of movement times
+ * and a new Location object for each movement of each device.
+ *
+ * The TreeMaps are built from the same trajectories by following the
+ * location changes of the devices, so both representations answer the
+ * same queries with the same places.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.mobility.MobilityModel;
+import edu.boun.edgecloudsim.utils.Location;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NomadicTrajectoryBenchmark {
+	private static final int NUM_OF_QUERIES = 1 << 16; //must be a power of two
+
+	@Param({"200", "2000"})
+	public int numOfMobileDevices;
+
+	private BenchmarkScenario scenario;
+	private MobilityModel mobilityModel;
+	private List<TreeMap<Double, Location>> treeMapArray;
+	private int[] deviceIds;
+	private double[] times;
+	private int queryIndex;
+
+	@Setup
+	public void setup() throws Exception {
+		scenario = new BenchmarkScenario("sample_app1");
+		scenario.initializeSettings();
+		scenario.createSimulation(numOfMobileDevices, scenario.getDefaultSimScenario(), scenario.getDefaultOrchestratorPolicy());
+		mobilityModel = scenario.getSimManager().getMobilityModel();
+
+		double startTime = SimSettings.CLIENT_ACTIVITY_START_TIME;
+		double simulationTime = SimSettings.getInstance().getSimulationTime();
+
+		treeMapArray = new ArrayList<TreeMap<Double, Location>>(numOfMobileDevices);
+		for(int i=0; i<numOfMobileDevices; i++) {
+			TreeMap<Double, Location> treeMap = new TreeMap<Double, Location>();
+			for(double time = startTime; time >= 0; time = mobilityModel.getNextLocationChangeTime(i, time)) {
+				Location place = mobilityModel.getLocation(i, time);
+				treeMap.put(time, new Location(place.getPlaceTypeIndex(), place.getServingWlanId(), place.getXPos(), place.getYPos()));
+			}
+			treeMapArray.add(treeMap);
+		}
+
+		Random random = new Random(Long.parseLong(BenchmarkScenario.DEFAULT_RANDOM_SEED));
+		deviceIds = new int[NUM_OF_QUERIES];
+		times = new double[NUM_OF_QUERIES];
+		for(int i=0; i<NUM_OF_QUERIES; i++) {
+			deviceIds[i] = random.nextInt(numOfMobileDevices);
+			times[i] = startTime + random.nextDouble() * (simulationTime - startTime);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		scenario.close();
+	}
+
+	@Benchmark
+	public Location sortedArrays() {
+		int i = queryIndex++ & (NUM_OF_QUERIES - 1);
+		return mobilityModel.getLocation(deviceIds[i], times[i]);
+	}
+
+	@Benchmark
+	public Location treeMap() {
+		int i = queryIndex++ & (NUM_OF_QUERIES - 1);
+		return treeMapArray.get(deviceIds[i]).floorEntry(times[i]).getValue();
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Title:        EdgeCloudSim - Sim Logger Benchmark
+ *
+ * Description:
+ * SimLoggerBenchmark measures the cost of logging a task from its
+ * creation until its result is recorded, as the mobile device managers
+ * do, without and with the deep file logging. The task properties are
+ * taken from the load generator of sample_app1.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
+import edu.boun.edgecloudsim.core.SimSettings.VM_TYPES;
+import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.TaskProperty;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimLoggerBenchmark {
+	@Param({"NONE", "TEXT", "BINARY"})
+	public String deepFileLog;
+
+	private BenchmarkScenario scenario;
+	private SimLogger logger;
+	private List<TaskProperty> taskList;
+	private double startTime;
+	private int taskId;
+
+	@Setup
+	public void setup() throws Exception {
+		scenario = new BenchmarkScenario("sample_app1");
+
+		//deep file logging is used only if the file logging is enabled
+		scenario.setProperty("file_log_enabled", Boolean.toString(!deepFileLog.equals("NONE")));
+		scenario.setProperty("deep_file_log_enabled", Boolean.toString(!deepFileLog.equals("NONE")));
+		scenario.setProperty("deep_file_log_binary", Boolean.toString(deepFileLog.equals("BINARY")));
+		scenario.initializeSettings();
+		scenario.createSimulation(100, scenario.getDefaultSimScenario(), scenario.getDefaultOrchestratorPolicy());
+
+		logger = SimLogger.getInstance();
+		taskList = scenario.getSimManager().getLoadGeneratorModel().getTaskList();
+
+		//the results of the tasks started in the warm up period are not recorded
+		startTime = SimSettings.getInstance().getWarmUpPeriod() + 1;
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		logger.simStopped();
+		scenario.close();
+	}
+
+	@Benchmark
+	public void completedTask() {
+		int id = ++taskId;
+		TaskProperty task = taskList.get(id % taskList.size());
+
+		logger.addLog(task.getMobileDeviceId(), id, task.getTaskType(),
+				(int)task.getLength(), (int)task.getInputFileSize(), (int)task.getOutputFileSize());
+		logger.taskStarted(id, startTime);
+		logger.setUploadDelay(id, 0.1, NETWORK_DELAY_TYPES.WLAN_DELAY);
+		logger.taskAssigned(id, 0, 0, 0, VM_TYPES.EDGE_VM.ordinal());
+		logger.taskExecuted(id);
+		logger.setDownloadDelay(id, 0.1, NETWORK_DELAY_TYPES.WLAN_DELAY);
+		logger.taskEnded(id, startTime + 1);
+	}
+
+	@Benchmark
+	public void rejectedTask() {
+		int id = ++taskId;
+		TaskProperty task = taskList.get(id % taskList.size());
+
+		logger.addLog(task.getMobileDeviceId(), id, task.getTaskType(),
+				(int)task.getLength(), (int)task.getInputFileSize(), (int)task.getOutputFileSize());
+		logger.taskStarted(id, startTime);
+		logger.rejectedDueToVMCapacity(id, startTime, VM_TYPES.EDGE_VM.ordinal());
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Title:        EdgeCloudSim - Simulation Benchmark
+ *
+ * Description:
+ * SimulationBenchmark runs the whole simulation of the sample
+ * applications for different number of mobile devices. The number of
+ * the simulations per second is reported as the primary result, and
+ * the number of the processed CloudSim events per second is reported
+ * as a secondary result, which can be compared between the scenarios
+ * having different lengths.
+ *
+ * The simulation time is shortened to keep the benchmark duration
+ * reasonable; it can be changed by the simulationTime parameter
+ * (in minutes) on the command line. The first orchestrator policy and
+ * the last simulation scenario in the configuration are used.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class SimulationBenchmark {
+	@Param({"sample_app1", "sample_app2", "sample_app3", "sample_app4", "sample_app5"})
+	public String app;
+
+	@Param({"200", "1000", "2000"})
+	public int numOfMobileDevices;
+
+	@Param({"5"})
+	public String simulationTime;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class EventCounters {
+		public long events;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			events = 0;
+		}
+	}
+
+	private BenchmarkScenario scenario;
+
+	@Setup
+	public void setup() throws Exception {
+		scenario = new BenchmarkScenario(app);
+		scenario.setProperty("simulation_time", simulationTime);
+		scenario.initializeSettings();
+	}
+
+	@TearDown
+	public void tearDown() {
+		scenario.close();
+	}
+
+	@Benchmark
+	public void simulation(EventCounters counters) throws Exception {
+		scenario.createSimulation(numOfMobileDevices, scenario.getDefaultSimScenario(), scenario.getDefaultOrchestratorPolicy());
+		counters.events += scenario.run();
+	}
+}
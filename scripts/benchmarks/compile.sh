@@ -0,0 +1,11 @@
+#!/bin/sh
+#JMH is not distributed with EdgeCloudSim, copy the jmh-core, jmh-generator-annprocess
+#and jopt-simple jars (available on Maven Central) to lib/jmh before running this script
+if [ ! -d ../../lib/jmh ]; then
+	echo "JMH libraries are not found! Please copy jmh-core, jmh-generator-annprocess and jopt-simple jars to lib/jmh."
+	exit 1
+fi
+
+rm -rf ../../bin_benchmarks
+mkdir ../../bin_benchmarks
+javac -classpath "../../lib/cloudsim-4.0.jar:../../lib/commons-math3-3.6.1.jar:../../lib/colt.jar:../../lib/jFuzzyLogic_v3.0.jar:../../lib/weka.jar:../../lib/mtj-1.0.4.jar:../../lib/jmh/*" -processor org.openjdk.jmh.generators.BenchmarkProcessor -sourcepath ../../src:../../benchmarks/src ../../src/edu/boun/edgecloudsim/applications/sample_app1/MainApp.java ../../src/edu/boun/edgecloudsim/applications/sample_app2/MainApp.java ../../src/edu/boun/edgecloudsim/applications/sample_app3/MainApp.java ../../src/edu/boun/edgecloudsim/applications/sample_app4/FuzzyMainApp.java ../../src/edu/boun/edgecloudsim/applications/sample_app5/VehicularMainApp.java $(find ../../benchmarks/src -name "*.java") -d ../../bin_benchmarks
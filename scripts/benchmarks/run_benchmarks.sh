@@ -0,0 +1,9 @@
+#!/bin/sh
+#runs the benchmarks compiled by compile.sh, the arguments are passed to JMH
+#e.g. './run_benchmarks.sh MobilityModelBenchmark -p numOfMobileDevices=1000 -rf csv -rff mobility.csv'
+#use '-l' to list the benchmarks and '-h' to see the JMH options
+
+script_root_path="$(dirname "$(readlink -f "$0")")"
+root_path=$(readlink -f ${script_root_path}/../..)
+
+java -Dedgecloudsim.home=${root_path} -classpath "${root_path}/bin_benchmarks:${root_path}/lib/cloudsim-4.0.jar:${root_path}/lib/commons-math3-3.6.1.jar:${root_path}/lib/colt.jar:${root_path}/lib/jFuzzyLogic_v3.0.jar:${root_path}/lib/weka.jar:${root_path}/lib/mtj-1.0.4.jar:${root_path}/lib/jmh/*" org.openjdk.jmh.Main "$@"
@@ -19,9 +19,11 @@ import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.core.CloudSim;
 
 import edu.boun.edgecloudsim.core.ScenarioFactory;
+import edu.boun.edgecloudsim.core.ScenarioSweepExecutor;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimRandom;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 public class MainApp {
@@ -76,6 +78,9 @@ public class MainApp {
 			System.exit(0);
 		}
 
+		//use a different random number sequence for each iteration
+		SimRandom.setMasterSeed(SS.getRandomSeed() + iterationNumber);
+
 		if(SS.getFileLoggingEnabled()){
 			SimLogger.enableFileLog();
 			SimUtils.cleanOutputFolder(outputFolder);
@@ -87,6 +92,18 @@ public class MainApp {
 		SimLogger.printLine("Simulation started at " + now);
 		SimLogger.printLine("----------------------------------------------------------------------");
 
+		//run the scenarios in parallel if more than one thread is configured
+		if(SS.getNumOfSweepThreads() > 1){
+			ScenarioSweepExecutor sweepExecutor = new ScenarioSweepExecutor(SampleScenarioFactory.class.getName(),
+					configFile, edgeDevicesFile, applicationsFile, outputFolder, iterationNumber, SS.getNumOfSweepThreads());
+			sweepExecutor.run();
+
+			Date SimulationEndDate = Calendar.getInstance().getTime();
+			now = df.format(SimulationEndDate);
+			SimLogger.printLine("Simulation finished at " + now +  ". It took " + SimUtils.getTimeDifference(SimulationStartDate,SimulationEndDate));
+			return;
+		}
+
 		for(int j=SS.getMinNumOfMobileDev(); j<=SS.getMaxNumOfMobileDev(); j+=SS.getMobileDevCounterSize())
 		{
 			for(int k=0; k<SS.getSimulationScenarios().length; k++)
@@ -16,7 +16,6 @@ package edu.boun.edgecloudsim.applications.sample_app2;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Host;
-import org.cloudbus.cloudsim.UtilizationModelFull;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.SimEvent;
@@ -24,6 +23,7 @@ import org.cloudbus.cloudsim.core.SimEvent;
 import edu.boun.edgecloudsim.cloud_server.CloudVM;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
@@ -59,11 +59,9 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 			result = SimSettings.GENERIC_EDGE_DEVICE_ID;
 		}
 		else if(simScenario.equals("TWO_TIER_WITH_EO")){
-			//dummy task to simulate a task with 1 Mbit file size to upload and download 
-			Task dummyTask = new Task(0, 0, 0, 0, 128, 128, new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
-			
-			double wanDelay = SimManager.getInstance().getNetworkModel().getUploadDelay(task.getMobileDeviceId(),
-					SimSettings.CLOUD_DATACENTER_ID, dummyTask /* 1 Mbit */);
+			//delay of uploading 1 Mbit (128 KB) data to the cloud from the access point of the device
+			double wanDelay = SimManager.getInstance().getNetworkModel().estimateDelay(NETWORK_DELAY_TYPES.WAN_DELAY,
+					128, task.getSubmittedLocation().getServingWlanId(), false);
 			
 			double wanBW = (wanDelay == 0) ? 0 : (1 / wanDelay); /* Mbps */
 			
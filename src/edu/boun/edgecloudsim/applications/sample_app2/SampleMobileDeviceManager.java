@@ -31,7 +31,6 @@ import org.cloudbus.cloudsim.UtilizationModel;
 import org.cloudbus.cloudsim.UtilizationModelFull;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEvent;
 
 import edu.boun.edgecloudsim.core.SimManager;
@@ -337,8 +336,7 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 				task.setAssociatedVmId(selectedVM.getId());
 				
 				//bind task to related VM
-				getCloudletList().add(task);
-				bindCloudletToVm(task.getCloudletId(), selectedVM.getId());
+				bindTaskToVm(task, selectedVM);
 				
 				if(selectedVM instanceof EdgeVM){
 					EdgeHost host = (EdgeHost)(selectedVM.getHost());
@@ -369,7 +367,7 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 	
 	private void submitTaskToVm(Task task, SimSettings.VM_TYPES vmType) {
 		//SimLogger.printLine(CloudSim.clock() + ": Cloudlet#" + task.getCloudletId() + " is submitted to VM#" + task.getVmId());
-		schedule(getVmsToDatacentersMap().get(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
+		submitTaskToBoundVm(task, 0);
 
 		SimLogger.getInstance().taskAssigned(task.getCloudletId(),
 				task.getAssociatedDatacenterId(),
@@ -21,6 +21,7 @@ import org.cloudbus.cloudsim.core.CloudSim;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
 import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.network.NetworkModel;
 import edu.boun.edgecloudsim.utils.Location;
@@ -237,11 +238,11 @@ public class SampleNetworkModel extends NetworkModel {
 
 		//mobile device to cloud server
 		if(destDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			delay = getWanUploadDelay(accessPointLocation, task.getCloudletFileSize());
+			delay = getWanUploadDelay(accessPointLocation.getServingWlanId(), task.getCloudletFileSize());
 		}
 		//mobile device to edge device (wifi access point)
 		else if (destDeviceId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
-			delay = getWlanUploadDelay(accessPointLocation, task.getCloudletFileSize());
+			delay = getWlanUploadDelay(accessPointLocation.getServingWlanId(), task.getCloudletFileSize());
 		}
 		
 		return delay;
@@ -263,11 +264,33 @@ public class SampleNetworkModel extends NetworkModel {
 		
 		//cloud server to mobile device
 		if(sourceDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			delay = getWanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWanDownloadDelay(accessPointLocation.getServingWlanId(), task.getCloudletOutputSize());
 		}
 		//edge device (wifi access point) to mobile device
 		else{
-			delay = getWlanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWlanDownloadDelay(accessPointLocation.getServingWlanId(), task.getCloudletOutputSize());
+		}
+		
+		return delay;
+	}
+
+	/**
+	 * delays are calculated as in getUploadDelay() and getDownloadDelay(),
+	 * but the MAN statistics used by the M/M/1 queue model are not updated
+	 */
+	@Override
+	public double estimateDelay(NETWORK_DELAY_TYPES delayType, double dataSize, int accessPointId, boolean forDownload) {
+		double delay = 0;
+		
+		if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
+			delay = forDownload ? getWanDownloadDelay(accessPointId, dataSize) : getWanUploadDelay(accessPointId, dataSize);
+		else if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			delay = forDownload ? getWlanDownloadDelay(accessPointId, dataSize) : getWlanUploadDelay(accessPointId, dataSize);
+		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
+			delay = forDownload ? estimateManDownloadDelay() : estimateManUploadDelay();
+		else {
+			SimLogger.printLine("Error - unknown delay type in estimateDelay(). Terminating simulation...");
+			System.exit(1);
 		}
 		
 		return delay;
@@ -329,8 +352,8 @@ public class SampleNetworkModel extends NetworkModel {
 		}
 	}
 
-	private double getWlanDownloadDelay(Location accessPointLocation, double dataSize) {
-		int numOfWlanUser = wlanClients[accessPointLocation.getServingWlanId()];
+	private double getWlanDownloadDelay(int accessPointId, double dataSize) {
+		int numOfWlanUser = wlanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -342,12 +365,12 @@ public class SampleNetworkModel extends NetworkModel {
 	}
 	
 	//wlan upload and download delay is symmetric in this model
-	private double getWlanUploadDelay(Location accessPointLocation, double dataSize) {
-		return getWlanDownloadDelay(accessPointLocation, dataSize);
+	private double getWlanUploadDelay(int accessPointId, double dataSize) {
+		return getWlanDownloadDelay(accessPointId, dataSize);
 	}
 	
-	private double getWanDownloadDelay(Location accessPointLocation, double dataSize) {
-		int numOfWanUser = wanClients[accessPointLocation.getServingWlanId()];
+	private double getWanDownloadDelay(int accessPointId, double dataSize) {
+		int numOfWanUser = wanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -360,8 +383,8 @@ public class SampleNetworkModel extends NetworkModel {
 	}
 	
 	//wan upload and download delay is symmetric in this model
-	private double getWanUploadDelay(Location accessPointLocation, double dataSize) {
-		return getWanDownloadDelay(accessPointLocation, dataSize);
+	private double getWanUploadDelay(int accessPointId, double dataSize) {
+		return getWanDownloadDelay(accessPointId, dataSize);
 	}
 	
 	private double calculateMM1(double propagationDelay, double bandwidth /*Kbps*/, double PoissonMean, double avgTaskSize /*KB*/, int deviceCount){
@@ -381,12 +404,16 @@ public class SampleNetworkModel extends NetworkModel {
 		return (result > 15) ? 0 : result;
 	}
 	
-	private double getManDownloadDelay() {
-		double result = calculateMM1(SimSettings.getInstance().getInternalLanDelay(),
+	private double estimateManDownloadDelay() {
+		return calculateMM1(SimSettings.getInstance().getInternalLanDelay(),
 				MAN_BW,
 				ManPoissonMeanForDownload,
 				avgManTaskOutputSize,
 				numberOfMobileDevices);
+	}
+	
+	private double getManDownloadDelay() {
+		double result = estimateManDownloadDelay();
 		
 		totalManTaskOutputSize += avgManTaskOutputSize;
 		numOfManTaskForDownload++;
@@ -396,12 +423,16 @@ public class SampleNetworkModel extends NetworkModel {
 		return result;
 	}
 	
-	private double getManUploadDelay() {
-		double result = calculateMM1(SimSettings.getInstance().getInternalLanDelay(),
+	private double estimateManUploadDelay() {
+		return calculateMM1(SimSettings.getInstance().getInternalLanDelay(),
 				MAN_BW,
 				ManPoissonMeanForUpload,
 				avgManTaskInputSize,
 				numberOfMobileDevices);
+	}
+	
+	private double getManUploadDelay() {
+		double result = estimateManUploadDelay();
 		
 		totalManTaskInputSize += avgManTaskInputSize;
 		numOfManTaskForUpload++;
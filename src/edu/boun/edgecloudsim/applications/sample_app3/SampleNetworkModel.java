@@ -17,6 +17,7 @@ import org.cloudbus.cloudsim.core.CloudSim;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
 import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.network.NetworkModel;
 import edu.boun.edgecloudsim.utils.Location;
@@ -147,7 +148,7 @@ public class SampleNetworkModel extends NetworkModel {
 
 		//mobile device to edge device (wifi access point)
 		if (destDeviceId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
-			delay = getWlanUploadDelay(task.getSubmittedLocation(), task.getCloudletFileSize());
+			delay = getWlanUploadDelay(task.getSubmittedLocation().getServingWlanId(), task.getCloudletFileSize());
 		}
 		else {
 			SimLogger.printLine("Error - unknown device id in getUploadDelay(). Terminating simulation...");
@@ -167,7 +168,7 @@ public class SampleNetworkModel extends NetworkModel {
 		
 		//edge device (wifi access point) to mobile device
 		if (sourceDeviceId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
-			delay = getWlanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWlanDownloadDelay(accessPointLocation.getServingWlanId(), task.getCloudletOutputSize());
 		}
 		else {
 			SimLogger.printLine("Error - unknown device id in getDownloadDelay(). Terminating simulation...");
@@ -177,6 +178,23 @@ public class SampleNetworkModel extends NetworkModel {
 		return delay;
 	}
 
+	/**
+	 * only the WLAN is used in this model
+	 */
+	@Override
+	public double estimateDelay(NETWORK_DELAY_TYPES delayType, double dataSize, int accessPointId, boolean forDownload) {
+		double delay = 0;
+
+		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			delay = forDownload ? getWlanDownloadDelay(accessPointId, dataSize) : getWlanUploadDelay(accessPointId, dataSize);
+		else {
+			SimLogger.printLine("Error - unknown delay type in estimateDelay(). Terminating simulation...");
+			System.exit(1);
+		}
+
+		return delay;
+	}
+
 	@Override
 	public void uploadStarted(Location accessPointLocation, int destDeviceId) {
 		if (destDeviceId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
@@ -221,8 +239,8 @@ public class SampleNetworkModel extends NetworkModel {
 		}
 	}
 
-	private double getWlanDownloadDelay(Location accessPointLocation, double dataSize) {
-		int numOfWlanUser = wlanClients[accessPointLocation.getServingWlanId()];
+	private double getWlanDownloadDelay(int accessPointId, double dataSize) {
+		int numOfWlanUser = wlanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -237,7 +255,7 @@ public class SampleNetworkModel extends NetworkModel {
 	}
 	
 	//wlan upload and download delay is symmetric in this model
-	private double getWlanUploadDelay(Location accessPointLocation, double dataSize) {
-		return getWlanDownloadDelay(accessPointLocation, dataSize);
+	private double getWlanUploadDelay(int accessPointId, double dataSize) {
+		return getWlanDownloadDelay(accessPointId, dataSize);
 	}
 }
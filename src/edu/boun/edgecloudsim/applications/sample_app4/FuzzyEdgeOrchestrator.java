@@ -16,7 +16,6 @@ import java.util.List;
 
 import org.antlr.runtime.RecognitionException;
 import org.cloudbus.cloudsim.Host;
-import org.cloudbus.cloudsim.UtilizationModelFull;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.SimEvent;
@@ -25,6 +24,7 @@ import net.sourceforge.jFuzzyLogic.FIS;
 import edu.boun.edgecloudsim.cloud_server.CloudVM;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
 import edu.boun.edgecloudsim.edge_server.EdgeHost;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
@@ -35,10 +35,26 @@ import edu.boun.edgecloudsim.utils.SimLogger;
 public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 	public static final double MAX_DATA_SIZE=2500;
 	
+	//input variables of the fuzzy inference systems
+	private static final String[][] FIS_INPUTS = {
+			{"wan_bw", "task_size", "delay_sensitivity", "avg_edge_util"},
+			{"man_delay", "nearest_edge_uitl", "best_remote_edge_uitl"},
+			{"wan_bw", "cpu_speed", "video_execution", "data_size"}
+	};
+	private static final String FIS_OUTPUT = "offload_decision";
+
 	private int numberOfHost; //used by load balancer
-	private FIS fis1 = null;
-	private FIS fis2 = null;
-	private FIS fis3 = null;
+	private FIS[] fisList = new FIS[FIS_INPUTS.length];
+	//lookup tables hold the inputs of the current query, so they are
+	//created for each orchestrator with the resolution of its settings
+	private FuzzyLookupTable[] lookupTables = null;
+	private boolean lookupTableEnabled;
+	private boolean lookupTableValidation;
+
+	//comparison of the lookup tables with the exact FIS
+	private double[] maxLookupErrors = new double[FIS_INPUTS.length];
+	private int[] numOfLookupMismatches = new int[FIS_INPUTS.length];
+	private int[] numOfLookupValidations = new int[FIS_INPUTS.length];
 
 	public FuzzyEdgeOrchestrator(String _policy, String _simScenario) {
 		super(_policy, _simScenario);
@@ -48,15 +64,58 @@ public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 	public void initialize() {
 		numberOfHost=SimSettings.getInstance().getNumOfEdgeHosts();
 		
+		String[] fclDefinitions = {
+				FCL_definition.fclDefinition1,
+				FCL_definition.fclDefinition2,
+				FCL_definition.fclDefinition3
+		};
+
 		try {
-			fis1 = FIS.createFromString(FCL_definition.fclDefinition1, false);
-			fis2 = FIS.createFromString(FCL_definition.fclDefinition2, false);
-			fis3 = FIS.createFromString(FCL_definition.fclDefinition3, false);
+			for(int i=0; i<fisList.length; i++)
+				fisList[i] = FIS.createFromString(fclDefinitions[i], false);
 		} catch (RecognitionException e) {
 			SimLogger.printLine("Cannot generate FIS! Terminating simulation...");
 			e.printStackTrace();
 			System.exit(0);
 		}
+
+		lookupTableEnabled = SimSettings.getInstance().getFuzzyLookupTableEnabled();
+		lookupTableValidation = lookupTableEnabled && SimSettings.getInstance().getFuzzyLookupTableValidation();
+		if(lookupTableEnabled) {
+			int resolution = SimSettings.getInstance().getFuzzyLookupTableResolution();
+			lookupTables = new FuzzyLookupTable[fisList.length];
+			for(int i=0; i<fisList.length; i++)
+				lookupTables[i] = new FuzzyLookupTable(fisList[i], fclDefinitions[i], FIS_INPUTS[i], FIS_OUTPUT, resolution);
+		}
+	}
+
+	private void setVariable(int fisIndex, String name, double value) {
+		if(lookupTableEnabled)
+			lookupTables[fisIndex].setVariable(name, value);
+		if(!lookupTableEnabled || lookupTableValidation)
+			fisList[fisIndex].setVariable(name, value);
+	}
+
+	/*
+	 * returns the output of the FIS for the inputs set before
+	 * the lookup table is used instead of the FIS if it is enabled
+	 */
+	private double evaluate(int fisIndex) {
+		if(!lookupTableEnabled) {
+			fisList[fisIndex].evaluate();
+			return fisList[fisIndex].getVariable(FIS_OUTPUT).getValue();
+		}
+
+		double value = lookupTables[fisIndex].getValue();
+		if(lookupTableValidation) {
+			fisList[fisIndex].evaluate();
+			double exactValue = fisList[fisIndex].getVariable(FIS_OUTPUT).getValue();
+			maxLookupErrors[fisIndex] = Math.max(maxLookupErrors[fisIndex], Math.abs(value - exactValue));
+			if((value > 50) != (exactValue > 50))
+				numOfLookupMismatches[fisIndex]++;
+			numOfLookupValidations[fisIndex]++;
+		}
+		return value;
 	}
 
 	/*
@@ -79,15 +138,15 @@ public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 			int nearestEdgeHostIndex = 0;
 			double nearestEdgeUtilization = 0;
 			
-			//dummy task to simulate a task with 1 Mbit file size to upload and download 
-			Task dummyTask = new Task(0, 0, 0, 0, 128, 128, new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
-			
-			double wanDelay = SimManager.getInstance().getNetworkModel().getUploadDelay(task.getMobileDeviceId(),
-					SimSettings.CLOUD_DATACENTER_ID, dummyTask /* 1 Mbit */);
+			//delay of uploading 1 Mbit (128 KB) data to the cloud from the access point of the device
+			double wanDelay = SimManager.getInstance().getNetworkModel().estimateDelay(NETWORK_DELAY_TYPES.WAN_DELAY,
+					128, task.getSubmittedLocation().getServingWlanId(), false);
 			double wanBW = (wanDelay == 0) ? 0 : (1 / wanDelay); /* Mbps */
 
+			//the MAN delay is based on the average task size, so the task itself is used;
+			//this query is counted in the MAN statistics of the network model as before
 			double manDelay = SimManager.getInstance().getNetworkModel().getUploadDelay(SimSettings.GENERIC_EDGE_DEVICE_ID,
-					SimSettings.GENERIC_EDGE_DEVICE_ID, dummyTask /* 1 Mbit */);
+					SimSettings.GENERIC_EDGE_DEVICE_ID, task);
 			
 			double edgeUtilization = SimManager.getInstance().getEdgeServerManager().getAvgUtilization();
 			
@@ -95,17 +154,11 @@ public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 			double bestRemoteEdgeUtilization = 100; //start with max value
 			for(int hostIndex=0; hostIndex<numberOfHost; hostIndex++){
 				List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
-	
-				double totalUtilization=0;
-				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-					totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-				}
-				
-				double avgUtilization = (totalUtilization / (double)(vmArray.size()));
+				double avgUtilization = SimManager.getInstance().getEdgeServerManager().getAvgUtilization(hostIndex);
 				
 				EdgeHost host = (EdgeHost)(vmArray.get(0).getHost()); //all VMs have the same host
 				if(host.getLocation().getServingWlanId() == task.getSubmittedLocation().getServingWlanId()){
-					nearestEdgeUtilization = totalUtilization / (double)(vmArray.size());
+					nearestEdgeUtilization = avgUtilization;
 					nearestEdgeHostIndex = hostIndex;
 				}
 				else if(avgUtilization < bestRemoteEdgeUtilization){
@@ -119,23 +172,23 @@ public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 				double bestHostUtilization = nearestEdgeUtilization;
 				
 		        // Set inputs
-		        fis2.setVariable("man_delay", manDelay);
-		        fis2.setVariable("nearest_edge_uitl", nearestEdgeUtilization);
-		        fis2.setVariable("best_remote_edge_uitl", bestRemoteEdgeUtilization);
+		        setVariable(1, "man_delay", manDelay);
+		        setVariable(1, "nearest_edge_uitl", nearestEdgeUtilization);
+		        setVariable(1, "best_remote_edge_uitl", bestRemoteEdgeUtilization);
 		        
 		        // Evaluate
-		        fis2.evaluate();
+		        double offloadDecision = evaluate(1);
 		        
 		        /*
 		        SimLogger.printLine("########################################");
 		        SimLogger.printLine("man bw: " + manBW);
 		        SimLogger.printLine("nearest_edge_uitl: " + nearestEdgeUtilization);
 		        SimLogger.printLine("best_remote_edge_uitl: " + bestRemoteEdgeHostUtilization);
-		        SimLogger.printLine("offload_decision: " + fis2.getVariable("offload_decision").getValue());
+		        SimLogger.printLine("offload_decision: " + offloadDecision);
 		        SimLogger.printLine("########################################");
 				*/
 		        
-				if(fis2.getVariable("offload_decision").getValue() > 50){
+				if(offloadDecision > 50){
 					bestHostIndex = bestRemoteEdgeHostIndex;
 					bestHostUtilization = bestRemoteEdgeUtilization;
 				}
@@ -143,13 +196,13 @@ public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 				double delay_sensitivity = SimSettings.getInstance().getTaskLookUpTable()[task.getTaskType()][12];
 
 		        // Set inputs
-		        fis1.setVariable("wan_bw", wanBW);
-		        fis1.setVariable("task_size", task.getCloudletLength());
-		        fis1.setVariable("delay_sensitivity", delay_sensitivity);
-		        fis1.setVariable("avg_edge_util", bestHostUtilization);
+		        setVariable(0, "wan_bw", wanBW);
+		        setVariable(0, "task_size", task.getCloudletLength());
+		        setVariable(0, "delay_sensitivity", delay_sensitivity);
+		        setVariable(0, "avg_edge_util", bestHostUtilization);
 		        
 		        // Evaluate
-		        fis1.evaluate();
+		        offloadDecision = evaluate(0);
 		        
 		        /*
 		        SimLogger.printLine("########################################");
@@ -157,11 +210,11 @@ public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 		        SimLogger.printLine("task_size: " + task.getCloudletLength());
 		        SimLogger.printLine("delay_sensitivity: " + delay_sensitivity);
 		        SimLogger.printLine("avg_edge_util: " + bestHostUtilization);  
-		        SimLogger.printLine("offload_decision: " + fis1.getVariable("offload_decision").getValue());
+		        SimLogger.printLine("offload_decision: " + offloadDecision);
 		        SimLogger.printLine("########################################");
 		        */
 		        
-		        if(fis1.getVariable("offload_decision").getValue() > 50){
+		        if(offloadDecision > 50){
 					result = SimSettings.CLOUD_DATACENTER_ID;
 		        }
 				else{
@@ -176,13 +229,13 @@ public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 	        	double normalizedDataSize = Math.min(MAX_DATA_SIZE, dataSize)/MAX_DATA_SIZE;
 	        	
 		        // Set inputs
-		        fis3.setVariable("wan_bw", wanBW);
-		        fis3.setVariable("cpu_speed", cpuSpeed);
-		        fis3.setVariable("video_execution", videoExecution);
-		        fis3.setVariable("data_size", normalizedDataSize);
+		        setVariable(2, "wan_bw", wanBW);
+		        setVariable(2, "cpu_speed", cpuSpeed);
+		        setVariable(2, "video_execution", videoExecution);
+		        setVariable(2, "data_size", normalizedDataSize);
 		        
 		        // Evaluate
-		        fis3.evaluate();
+		        double offloadDecision = evaluate(2);
 		        
 		        /*
 		        SimLogger.printLine("########################################");
@@ -190,11 +243,11 @@ public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 		        SimLogger.printLine("cpu_speed: " + cpuSpeed);
 		        SimLogger.printLine("video_execution: " + videoExecution);
 		        SimLogger.printLine("data_size: " + normalizedDataSize);  
-		        SimLogger.printLine("offload_decision: " + fis2.getVariable("offload_decision").getValue());
+		        SimLogger.printLine("offload_decision: " + offloadDecision);
 		        SimLogger.printLine("########################################");
 				*/
 		        
-		        if(fis3.getVariable("offload_decision").getValue() > 50)
+		        if(offloadDecision > 50)
 					result = SimSettings.CLOUD_DATACENTER_ID;
 				else
 					result = SimSettings.GENERIC_EDGE_DEVICE_ID;
@@ -291,7 +344,17 @@ public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 
 	@Override
 	public void shutdownEntity() {
-		// Nothing to do!
+		if(lookupTableValidation) {
+			for(int i=0; i<fisList.length; i++) {
+				if(numOfLookupValidations[i] == 0)
+					continue;
+				SimLogger.printLine("Fuzzy lookup table #" + (i+1) + " (" +
+						lookupTables[i].getNumOfGridPoints() + " grid points): max error " +
+						String.format("%.4f", maxLookupErrors[i]) + ", " +
+						numOfLookupMismatches[i] + " of " + numOfLookupValidations[i] +
+						" decisions differ from the exact FIS");
+			}
+		}
 	}
 
 	@Override
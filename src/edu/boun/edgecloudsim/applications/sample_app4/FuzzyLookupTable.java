@@ -0,0 +1,172 @@
+/*
+ * Title:        EdgeCloudSim - Fuzzy Lookup Table
+ *
+ * Description:
+ * FuzzyLookupTable samples the output of a fuzzy inference system on
+ * a multi-dimensional grid once, and calculates the output for the
+ * given inputs by multilinear interpolation between the grid points,
+ * so that the FIS is not evaluated for each task.
+ *
+ * The grid points of an input variable are the breakpoints of its
+ * membership functions in the FCL definition and the equally spaced
+ * points between them. The inputs outside the grid are moved to its
+ * bounds, which does not change the output since the membership
+ * functions are constant outside their breakpoints.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.applications.sample_app4;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import net.sourceforge.jFuzzyLogic.FIS;
+
+public class FuzzyLookupTable {
+	//x values of the points in a TERM definition, e.g. (0, 1) (2, 1) (4, 0)
+	private static final Pattern POINT_PATTERN = Pattern.compile("\\(\\s*([-+0-9.eE]+)\\s*,");
+
+	private String[] inputNames;
+	private double[][] gridPoints; //grid points of each input in increasing order
+	private int[] strides; //distance between the neighbor grid points of each input in the table
+	private double[] table; //output at each grid point, the last input changes fastest
+
+	//current inputs and work arrays of getValue()
+	private double[] inputs;
+	private double[] fractions;
+
+	/**
+	 * evaluates the given FIS at each grid point
+	 *
+	 * @param fis the fuzzy inference system created from the FCL definition
+	 * @param fclDefinition used to find the breakpoints of the input variables
+	 * @param _inputNames names of the input variables
+	 * @param outputName name of the output variable
+	 * @param resolution number of grid intervals between two breakpoints
+	 */
+	public FuzzyLookupTable(FIS fis, String fclDefinition, String[] _inputNames, String outputName, int resolution) {
+		inputNames = _inputNames;
+		gridPoints = new double[inputNames.length][];
+		strides = new int[inputNames.length];
+		inputs = new double[inputNames.length];
+		fractions = new double[inputNames.length];
+
+		int tableSize = 1;
+		for(int i=inputNames.length-1; i>=0; i--) {
+			gridPoints[i] = getGridPoints(getBreakpoints(fclDefinition, inputNames[i]), resolution);
+			strides[i] = tableSize;
+			tableSize *= gridPoints[i].length;
+		}
+
+		//visit the grid points in the table order
+		table = new double[tableSize];
+		int[] indices = new int[inputNames.length];
+		for(int index=0; index<tableSize; index++) {
+			for(int i=0; i<inputNames.length; i++)
+				fis.setVariable(inputNames[i], gridPoints[i][indices[i]]);
+			fis.evaluate();
+			table[index] = fis.getVariable(outputName).getValue();
+
+			for(int i=inputNames.length-1; i>=0; i--) {
+				if(++indices[i] < gridPoints[i].length)
+					break;
+				indices[i] = 0;
+			}
+		}
+	}
+
+	public void setVariable(String name, double value) {
+		for(int i=0; i<inputNames.length; i++) {
+			if(inputNames[i].equals(name)) {
+				inputs[i] = value;
+				return;
+			}
+		}
+		throw new IllegalArgumentException("Unknown input variable: " + name);
+	}
+
+	/**
+	 * returns the interpolated output for the inputs set before
+	 */
+	public double getValue() {
+		int baseIndex = 0;
+		for(int i=0; i<inputNames.length; i++) {
+			double[] points = gridPoints[i];
+			double input = Math.min(Math.max(inputs[i], points[0]), points[points.length-1]);
+
+			//find the grid interval containing the input
+			int lowerIndex = Arrays.binarySearch(points, input);
+			if(lowerIndex < 0)
+				lowerIndex = -lowerIndex - 2;
+			if(lowerIndex == points.length - 1)
+				lowerIndex--;
+
+			fractions[i] = (input - points[lowerIndex]) / (points[lowerIndex+1] - points[lowerIndex]);
+			baseIndex += lowerIndex * strides[i];
+		}
+
+		//weighted sum of the outputs at the corners of the grid cell
+		double result = 0;
+		for(int corner=0; corner < (1 << inputNames.length); corner++) {
+			double weight = 1;
+			int index = baseIndex;
+			for(int i=0; i<inputNames.length; i++) {
+				if((corner & (1 << i)) != 0) {
+					weight *= fractions[i];
+					index += strides[i];
+				}
+				else {
+					weight *= 1 - fractions[i];
+				}
+			}
+
+			if(weight != 0)
+				result += weight * table[index];
+		}
+		return result;
+	}
+
+	public int getNumOfGridPoints() {
+		return table.length;
+	}
+
+	/**
+	 * returns the x values of the membership function points of the given
+	 * input variable, which are defined in its FUZZIFY block
+	 */
+	private static double[] getBreakpoints(String fclDefinition, String inputName) {
+		Matcher block = Pattern.compile("FUZZIFY\\s+" + Pattern.quote(inputName) + "\\s(.*?)END_FUZZIFY",
+				Pattern.DOTALL).matcher(fclDefinition);
+		if(!block.find())
+			throw new IllegalArgumentException("Input variable is not fuzzified: " + inputName);
+
+		TreeSet<Double> breakpoints = new TreeSet<Double>();
+		Matcher point = POINT_PATTERN.matcher(block.group(1));
+		while(point.find())
+			breakpoints.add(Double.parseDouble(point.group(1)));
+
+		if(breakpoints.size() < 2)
+			throw new IllegalArgumentException("Input variable has less than two breakpoints: " + inputName);
+
+		double[] result = new double[breakpoints.size()];
+		int index = 0;
+		for(double breakpoint : breakpoints)
+			result[index++] = breakpoint;
+		return result;
+	}
+
+	private static double[] getGridPoints(double[] breakpoints, int resolution) {
+		double[] result = new double[(breakpoints.length - 1) * resolution + 1];
+		for(int i=0; i<breakpoints.length-1; i++) {
+			double step = (breakpoints[i+1] - breakpoints[i]) / resolution;
+			for(int j=0; j<resolution; j++)
+				result[i * resolution + j] = breakpoints[i] + j * step;
+		}
+		result[result.length-1] = breakpoints[breakpoints.length-1];
+		return result;
+	}
+}
@@ -19,7 +19,6 @@ import org.cloudbus.cloudsim.UtilizationModel;
 import org.cloudbus.cloudsim.UtilizationModelFull;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEvent;
 
 import edu.boun.edgecloudsim.core.SimManager;
@@ -325,8 +324,7 @@ public class FuzzyMobileDeviceManager extends MobileDeviceManager {
 				task.setAssociatedVmId(selectedVM.getId());
 				
 				//bind task to related VM
-				getCloudletList().add(task);
-				bindCloudletToVm(task.getCloudletId(), selectedVM.getId());
+				bindTaskToVm(task, selectedVM);
 				
 				if(selectedVM instanceof EdgeVM){
 					EdgeHost host = (EdgeHost)(selectedVM.getHost());
@@ -357,7 +355,7 @@ public class FuzzyMobileDeviceManager extends MobileDeviceManager {
 	
 	private void submitTaskToVm(Task task, SimSettings.VM_TYPES vmType) {
 		//SimLogger.printLine(CloudSim.clock() + ": Cloudlet#" + task.getCloudletId() + " is submitted to VM#" + task.getVmId());
-		schedule(getVmsToDatacentersMap().get(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
+		submitTaskToBoundVm(task, 0);
 
 		SimLogger.getInstance().taskAssigned(task.getCloudletId(),
 				task.getAssociatedDatacenterId(),
@@ -12,6 +12,11 @@ public class GameTheoryHelper {
 	//the task arrival rate vector
 	private double[] arrivalRateVector;
 
+	//segment tree keeping the sum of log(1 - arrivalRate[i] * p[i]) values;
+	//the leaves are at [n, 2n) and each node k < n is the sum of 2k and 2k+1,
+	//so the root at index 1 is the logarithm of the product of all factors
+	private double[] logFactorTree;
+
 	public GameTheoryHelper(double minTaskArrivalRate, double maxTaskArrivalRate, int numOfVehicles) {
 		MAX_TASK_ARRIVAL_RATE = maxTaskArrivalRate;
 		MIN_TASK_ARRIVAL_RATE = minTaskArrivalRate;
@@ -23,6 +28,12 @@ public class GameTheoryHelper {
 		arrivalRateVector = new double[numOfVehicles];
 		for (int i = 0; i < arrivalRateVector.length; i++)
 			arrivalRateVector[i] = 0.5;
+
+		logFactorTree = new double[2 * numOfVehicles];
+		for (int i = 0; i < numOfVehicles; i++)
+			logFactorTree[numOfVehicles + i] = Math.log(1 - arrivalRateVector[i] * pVector[i]);
+		for (int node = numOfVehicles - 1; node >= 1; node--)
+			logFactorTree[node] = logFactorTree[2 * node] + logFactorTree[2 * node + 1];
 	}
 
 	/**
@@ -43,6 +54,8 @@ public class GameTheoryHelper {
 		else if(pVector[vehicleID] >= 1)
 			pVector[vehicleID] = 0.99;
 
+		updateLogFactor(vehicleID);
+
 		//SimLogger.printLine("P" + vehicleID + ": " + pVector[vehicleID]);
 
 		return pVector[vehicleID];
@@ -59,16 +72,28 @@ public class GameTheoryHelper {
 		return Math.max(Math.min(result,1),0);
 	}
 
-	private double multiplyArray(int excludedIndex) {
-		double pro = 1; 
-		for (int i = 0; i < pVector.length && i != excludedIndex; i++)
-			pro *= (1 - arrivalRateVector[i] * pVector[i]);
-
-		if(pro == Double.POSITIVE_INFINITY)
-			pro = 0.99;
-		else if(pro == Double.NEGATIVE_INFINITY)
-			pro = 0.01;
+	/**
+	 * This method updates the factor of the given vehicle in the segment tree
+	 * in O(log n) time, recalculating the sums on the path to the root.
+	 * 
+	 * @param vehicleID  vehicle id
+	 */
+	private void updateLogFactor(int vehicleID) {
+		int node = pVector.length + vehicleID;
+		logFactorTree[node] = Math.log(1 - arrivalRateVector[vehicleID] * pVector[vehicleID]);
+		for (node /= 2; node >= 1; node /= 2)
+			logFactorTree[node] = logFactorTree[2 * node] + logFactorTree[2 * node + 1];
+	}
 
-		return pro; 
+	/**
+	 * This method returns the product of (1 - arrivalRate[i] * p[i]) values
+	 * of all vehicles except the given one. The factors are always positive
+	 * since p is kept in [0.01, 0.99] and the arrival rate in [0, 1].
+	 * 
+	 * @param excludedIndex  vehicle id to exclude
+	 * @return double product of the factors of the other vehicles
+	 */
+	private double multiplyArray(int excludedIndex) {
+		return Math.exp(logFactorTree[1] - logFactorTree[pVector.length + excludedIndex]);
 	}
 }
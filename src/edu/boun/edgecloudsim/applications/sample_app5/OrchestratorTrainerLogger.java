@@ -4,25 +4,21 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
+import java.util.ArrayDeque;
 
 import org.cloudbus.cloudsim.core.CloudSim;
 
 import edu.boun.edgecloudsim.core.SimManager;
-import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.edge_client.Task;
-import edu.boun.edgecloudsim.edge_server.EdgeVM;
+import edu.boun.edgecloudsim.utils.IntHashMap;
 import edu.boun.edgecloudsim.utils.SimLogger;
 
 public class OrchestratorTrainerLogger {
 	private static final double STAT_WINDOW = 1; //sec
 	private static final String DELIMITER = ",";
-	private Map<Integer, TrainerItem> trainerMap;
-	private List<Double>[] TaskOffloadStats;
+	private IntHashMap<TrainerItem> trainerMap;
+	private ArrayDeque<TrainerItem> trainerItemPool; //items of the saved tasks are reused
+	private OffloadWindow[] TaskOffloadStats;
 
 	private BufferedWriter learnerBW = null;
 
@@ -42,6 +38,18 @@ public class OrchestratorTrainerLogger {
 				double wanUploadDelay, double wanDownloadDelay,
 				double gsmUploadDelay, double gsmDownloadDelay,
 				double wlanUploadDelay, double wlanDownloadDelay)
+		{
+			init(selectedDatacenter, numOffloadedTask, avgEdgeUtilization,
+					wanUploadDelay, wanDownloadDelay,
+					gsmUploadDelay, gsmDownloadDelay,
+					wlanUploadDelay, wlanDownloadDelay);
+		}
+
+		void init(int selectedDatacenter,
+				int numOffloadedTask, double avgEdgeUtilization,
+				double wanUploadDelay, double wanDownloadDelay,
+				double gsmUploadDelay, double gsmDownloadDelay,
+				double wlanUploadDelay, double wlanDownloadDelay)
 		{
 			this.selectedDatacenter = selectedDatacenter;
 			this.avgEdgeUtilization = avgEdgeUtilization;
@@ -55,14 +63,47 @@ public class OrchestratorTrainerLogger {
 		}
 	}
 
-	@SuppressWarnings("unchecked")
+	/*
+	 * offload times of the last STAT_WINDOW seconds kept in a ring buffer
+	 * the times are added in increasing order, so the expired ones are
+	 * always at the head and each time is added and removed only once
+	 */
+	private static class OffloadWindow {
+		private double[] times = new double[64]; //length is a power of two
+		private int head = 0;
+		private int size = 0;
+
+		void add(double time) {
+			while (size > 0 && times[head] + STAT_WINDOW < time) {
+				head = (head + 1) & (times.length - 1);
+				size--;
+			}
+
+			if (size == times.length) {
+				double[] newTimes = new double[times.length * 2];
+				for (int i = 0; i < size; i++)
+					newTimes[i] = times[(head + i) & (times.length - 1)];
+				times = newTimes;
+				head = 0;
+			}
+
+			times[(head + size) & (times.length - 1)] = time;
+			size++;
+		}
+
+		int size() {
+			return size;
+		}
+	}
+
 	public OrchestratorTrainerLogger() {
-		trainerMap = new HashMap<Integer, TrainerItem>();
+		trainerMap = new IntHashMap<TrainerItem>();
+		trainerItemPool = new ArrayDeque<TrainerItem>();
 
-		TaskOffloadStats = (ArrayList<Double>[])new ArrayList[3];
-		TaskOffloadStats[0] = new ArrayList<Double>();
-		TaskOffloadStats[1] = new ArrayList<Double>();
-		TaskOffloadStats[2] = new ArrayList<Double>();
+		TaskOffloadStats = new OffloadWindow[3];
+		TaskOffloadStats[0] = new OffloadWindow();
+		TaskOffloadStats[1] = new OffloadWindow();
+		TaskOffloadStats[2] = new OffloadWindow();
 	}
 
 	public void openTrainerOutputFile() {
@@ -172,53 +213,40 @@ public class OrchestratorTrainerLogger {
 		addOffloadStat(selectedDatacenter-1);
 		int numOffloadedTasks = getOffloadStat(selectedDatacenter-1);
 
-		int numberOfHost = SimSettings.getInstance().getNumOfEdgeHosts();
-		double totalUtlization = 0;
-		double[] edgeUtilizations = new double[numberOfHost];
-		for(int hostIndex=0; hostIndex<numberOfHost; hostIndex++){
-			List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
-
-			double utilization=0;
-			for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-				utilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-			}
-			totalUtlization += utilization;
-
-			edgeUtilizations[hostIndex] = utilization / (double)(vmArray.size());
-		}
-
-		double avgEdgeUtilization = totalUtlization / SimSettings.getInstance().getNumOfEdgeVMs();
-
-		trainerMap.put(id,
-				new TrainerItem(selectedDatacenter,
-						numOffloadedTasks, avgEdgeUtilization,
-						wanUploadDelay, wanDownloadDelay,
-						gsmUploadDelay, gsmDownloadDelay,
-						wlanUploadDelay, wlanDownloadDelay
-						)
-				);
-
+		//the edge server manager keeps the average utilization of the edge VMs up to date
+		double avgEdgeUtilization = SimManager.getInstance().getEdgeServerManager().getAvgUtilization();
+
+		TrainerItem trainerItem = trainerItemPool.poll();
+		if(trainerItem == null)
+			trainerItem = new TrainerItem(selectedDatacenter,
+					numOffloadedTasks, avgEdgeUtilization,
+					wanUploadDelay, wanDownloadDelay,
+					gsmUploadDelay, gsmDownloadDelay,
+					wlanUploadDelay, wlanDownloadDelay);
+		else
+			trainerItem.init(selectedDatacenter,
+					numOffloadedTasks, avgEdgeUtilization,
+					wanUploadDelay, wanDownloadDelay,
+					gsmUploadDelay, gsmDownloadDelay,
+					wlanUploadDelay, wlanDownloadDelay);
+
+		trainerMap.put(id, trainerItem);
 	}
 
 	public synchronized void addSuccessStat(Task task, double serviceTime) {
 		TrainerItem trainerItem = trainerMap.remove(task.getCloudletId());
 		saveStat(trainerItem, task, true, serviceTime);
+		trainerItemPool.push(trainerItem);
 	}
 
 	public synchronized void addFailStat(Task task) {
 		TrainerItem trainerItem = trainerMap.remove(task.getCloudletId());
 		saveStat(trainerItem, task, false, 0);
+		trainerItemPool.push(trainerItem);
 	}
 
 	public synchronized void addOffloadStat(int datacenterIdx) {
-		double time = CloudSim.clock();
-		for (Iterator<Double> iter = TaskOffloadStats[datacenterIdx].iterator(); iter.hasNext(); ) {
-			if (iter.next() + STAT_WINDOW < time)
-				iter.remove();
-			else
-				break;
-		}
-		TaskOffloadStats[datacenterIdx].add(time);
+		TaskOffloadStats[datacenterIdx].add(CloudSim.clock());
 	}
 
 	public synchronized int getOffloadStat(int datacenterIdx) {
@@ -22,7 +22,9 @@ import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
 import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.utils.RandomStream;
 import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimRandom;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 public class VehicularEdgeOrchestrator extends EdgeOrchestrator {
@@ -43,6 +45,25 @@ public class VehicularEdgeOrchestrator extends EdgeOrchestrator {
 	private MultiArmedBanditHelper MAB;
 	private GameTheoryHelper GTH;
 
+	private RandomStream rng;
+
+	//inputs and outputs of the AI based policy, reused for each task
+	//the order of the targets is edge, cloud via RSU, cloud via GSM
+	private static final int[] AI_TARGETS = {EDGE_DATACENTER, CLOUD_DATACENTER_VIA_RSU, CLOUD_DATACENTER_VIA_GSM};
+	private double[][] classificationValues = {new double[5], new double[3], new double[3]};
+	private double[][] regressionValues = {new double[2], new double[3], new double[3]};
+	private boolean[] predictedResults = new boolean[AI_TARGETS.length];
+	private double[] predictedServiceTimes = new double[AI_TARGETS.length];
+
+	//network delays estimated for each task, in the order of the delay types
+	private static final NETWORK_DELAY_TYPES[] DELAY_TYPES = {
+			NETWORK_DELAY_TYPES.WAN_DELAY,
+			NETWORK_DELAY_TYPES.GSM_DELAY,
+			NETWORK_DELAY_TYPES.WLAN_DELAY
+	};
+	private double[] uploadDelays = new double[DELAY_TYPES.length];
+	private double[] downloadDelays = new double[DELAY_TYPES.length];
+
 	public VehicularEdgeOrchestrator(int _numOfMobileDevices, String _policy, String _simScenario) {
 		super(_policy, _simScenario);
 		this.numOfMobileDevice = _numOfMobileDevices;
@@ -52,6 +73,7 @@ public class VehicularEdgeOrchestrator extends EdgeOrchestrator {
 	public void initialize() {
 		cloudVmCounter = 0;
 		edgeVmCounter = 0;
+		rng = SimRandom.getStream("orchestrator");
 
 		statisticLogger = new OrchestratorStatisticLogger();
 		trainerLogger = new OrchestratorTrainerLogger();
@@ -76,14 +98,18 @@ public class VehicularEdgeOrchestrator extends EdgeOrchestrator {
 		double avgCloudUtilization = SimManager.getInstance().getCloudServerManager().getAvgUtilization();
 
 		VehicularNetworkModel networkModel = (VehicularNetworkModel)SimManager.getInstance().getNetworkModel();
-		double wanUploadDelay = networkModel.estimateUploadDelay(NETWORK_DELAY_TYPES.WAN_DELAY, task);
-		double wanDownloadDelay = networkModel.estimateDownloadDelay(NETWORK_DELAY_TYPES.WAN_DELAY, task);
+		int accessPointId = task.getSubmittedLocation().getServingWlanId();
+		networkModel.estimateDelays(DELAY_TYPES, task.getCloudletFileSize(), accessPointId, false, uploadDelays);
+		networkModel.estimateDelays(DELAY_TYPES, task.getCloudletOutputSize(), accessPointId, true, downloadDelays);
+
+		double wanUploadDelay = uploadDelays[0];
+		double wanDownloadDelay = downloadDelays[0];
 
-		double gsmUploadDelay = networkModel.estimateUploadDelay(NETWORK_DELAY_TYPES.GSM_DELAY, task);
-		double gsmDownloadDelay = networkModel.estimateDownloadDelay(NETWORK_DELAY_TYPES.GSM_DELAY, task);
+		double gsmUploadDelay = uploadDelays[1];
+		double gsmDownloadDelay = downloadDelays[1];
 
-		double wlanUploadDelay = networkModel.estimateUploadDelay(NETWORK_DELAY_TYPES.WLAN_DELAY, task);
-		double wlanDownloadDelay =networkModel.estimateDownloadDelay(NETWORK_DELAY_TYPES.WLAN_DELAY, task);
+		double wlanUploadDelay = uploadDelays[2];
+		double wlanDownloadDelay = downloadDelays[2];
 
 		int options[] = {
 				EDGE_DATACENTER,
@@ -114,39 +140,53 @@ public class VehicularEdgeOrchestrator extends EdgeOrchestrator {
 		if (policy.equals("AI_BASED")) {
 			WekaWrapper weka = WekaWrapper.getInstance();
 
-			boolean predictedResultForEdge = weka.handleClassification(EDGE_DATACENTER,
-					new double[] {trainerLogger.getOffloadStat(EDGE_DATACENTER-1),
-							task.getCloudletLength(), wlanUploadDelay,
-							wlanDownloadDelay, avgEdgeUtilization});
+			double[] edgeValues = classificationValues[0];
+			edgeValues[0] = trainerLogger.getOffloadStat(EDGE_DATACENTER-1);
+			edgeValues[1] = task.getCloudletLength();
+			edgeValues[2] = wlanUploadDelay;
+			edgeValues[3] = wlanDownloadDelay;
+			edgeValues[4] = avgEdgeUtilization;
+
+			double[] cloudViaRsuValues = classificationValues[1];
+			cloudViaRsuValues[0] = trainerLogger.getOffloadStat(CLOUD_DATACENTER_VIA_RSU-1);
+			cloudViaRsuValues[1] = wanUploadDelay;
+			cloudViaRsuValues[2] = wanDownloadDelay;
+
+			double[] cloudViaGsmValues = classificationValues[2];
+			cloudViaGsmValues[0] = trainerLogger.getOffloadStat(CLOUD_DATACENTER_VIA_GSM-1);
+			cloudViaGsmValues[1] = gsmUploadDelay;
+			cloudViaGsmValues[2] = gsmDownloadDelay;
+
+			weka.handleClassification(AI_TARGETS, classificationValues, predictedResults);
 
-			boolean predictedResultForCloudViaRSU = weka.handleClassification(CLOUD_DATACENTER_VIA_RSU,
-					new double[] {trainerLogger.getOffloadStat(CLOUD_DATACENTER_VIA_RSU-1),
-							wanUploadDelay, wanDownloadDelay});
+			edgeValues = regressionValues[0];
+			edgeValues[0] = task.getCloudletLength();
+			edgeValues[1] = avgEdgeUtilization;
 
-			boolean predictedResultForCloudViaGSM = weka.handleClassification(CLOUD_DATACENTER_VIA_GSM,
-					new double[] {trainerLogger.getOffloadStat(CLOUD_DATACENTER_VIA_GSM-1),
-							gsmUploadDelay, gsmDownloadDelay});
+			cloudViaRsuValues = regressionValues[1];
+			cloudViaRsuValues[0] = task.getCloudletLength();
+			cloudViaRsuValues[1] = wanUploadDelay;
+			cloudViaRsuValues[2] = wanDownloadDelay;
 
-			double predictedServiceTimeForEdge = Double.MAX_VALUE;
-			double predictedServiceTimeForCloudViaRSU = Double.MAX_VALUE;
-			double predictedServiceTimeForCloudViaGSM = Double.MAX_VALUE;
+			cloudViaGsmValues = regressionValues[2];
+			cloudViaGsmValues[0] = task.getCloudletLength();
+			cloudViaGsmValues[1] = gsmUploadDelay;
+			cloudViaGsmValues[2] = gsmDownloadDelay;
 
-			if(predictedResultForEdge)
-				predictedServiceTimeForEdge = weka.handleRegression(EDGE_DATACENTER,
-						new double[] {task.getCloudletLength(), avgEdgeUtilization});
+			weka.handleRegression(AI_TARGETS, regressionValues, predictedResults, predictedServiceTimes);
 
-			if(predictedResultForCloudViaRSU)
-				predictedServiceTimeForCloudViaRSU = weka.handleRegression(CLOUD_DATACENTER_VIA_RSU,
-						new double[] {task.getCloudletLength(), wanUploadDelay, wanDownloadDelay});
+			boolean predictedResultForEdge = predictedResults[0];
+			boolean predictedResultForCloudViaRSU = predictedResults[1];
+			boolean predictedResultForCloudViaGSM = predictedResults[2];
 
-			if(predictedResultForCloudViaGSM)
-				predictedServiceTimeForCloudViaGSM = weka.handleRegression(CLOUD_DATACENTER_VIA_GSM,
-						new double[] {task.getCloudletLength(), gsmUploadDelay, gsmDownloadDelay});
+			double predictedServiceTimeForEdge = predictedServiceTimes[0];
+			double predictedServiceTimeForCloudViaRSU = predictedServiceTimes[1];
+			double predictedServiceTimeForCloudViaGSM = predictedServiceTimes[2];
 
 			if(!predictedResultForEdge && !predictedResultForCloudViaRSU && !predictedResultForCloudViaGSM) {
 				double probabilities[] = {0.33, 0.34, 0.33};
 
-				double randomNumber = SimUtils.getRandomDoubleNumber(0, 1);
+				double randomNumber = SimUtils.getRandomDoubleNumber(rng, 0, 1);
 				double lastPercentagte = 0;
 				boolean resultFound = false;
 				for(int i=0; i<probabilities.length; i++) {
@@ -185,7 +225,7 @@ public class VehicularEdgeOrchestrator extends EdgeOrchestrator {
 			else
 				probabilities = new double[] {0.23, 0.60, 0.17};
 
-			double randomNumber = SimUtils.getRandomDoubleNumber(0, 1);
+			double randomNumber = SimUtils.getRandomDoubleNumber(rng, 0, 1);
 			double lastPercentagte = 0;
 			boolean resultFound = false;
 			for(int i=0; i<probabilities.length; i++) {
@@ -211,7 +251,7 @@ public class VehicularEdgeOrchestrator extends EdgeOrchestrator {
 		else if(policy.equals("RANDOM")){
 			double probabilities[] = {0.33, 0.33, 0.34};
 
-			double randomNumber = SimUtils.getRandomDoubleNumber(0, 1);
+			double randomNumber = SimUtils.getRandomDoubleNumber(rng, 0, 1);
 			double lastPercentagte = 0;
 			boolean resultFound = false;
 			for(int i=0; i<probabilities.length; i++) {
@@ -265,7 +305,7 @@ public class VehicularEdgeOrchestrator extends EdgeOrchestrator {
 
 			expectedProcessingDealyOnCloud *= 100 / (100 - avgCloudUtilization);
 
-			boolean isGsmFaster = SimUtils.getRandomDoubleNumber(0, 1) < 0.5;
+			boolean isGsmFaster = SimUtils.getRandomDoubleNumber(rng, 0, 1) < 0.5;
 			double expectedCloudDelay = expectedProcessingDealyOnCloud +	
 					(isGsmFaster ? gsmUploadDelay : wanUploadDelay) +
 					(isGsmFaster ? gsmDownloadDelay : wanDownloadDelay);
@@ -275,7 +315,7 @@ public class VehicularEdgeOrchestrator extends EdgeOrchestrator {
 
 			double Pi = GTH.getPi(task.getMobileDeviceId(), taskArrivalRate, expectedEdgeDelay, expectedCloudDelay, maxDelay);
 
-			double randomNumber = SimUtils.getRandomDoubleNumber(0, 1);
+			double randomNumber = SimUtils.getRandomDoubleNumber(rng, 0, 1);
 
 			if(Pi < randomNumber)
 				result = EDGE_DATACENTER;
@@ -329,7 +369,7 @@ public class VehicularEdgeOrchestrator extends EdgeOrchestrator {
 				}
 			}
 
-			double randomNumber = SimUtils.getRandomDoubleNumber(0.01, 0.99);
+			double randomNumber = SimUtils.getRandomDoubleNumber(rng, 0.01, 0.99);
 			double lastPercentagte = 0;
 			boolean resultFound = false;
 			for(int i=0; i<probabilities.length; i++) {
@@ -7,12 +7,24 @@ import org.apache.commons.math3.distribution.ExponentialDistribution;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.task_generator.LoadGeneratorModel;
 import edu.boun.edgecloudsim.utils.TaskProperty;
+import edu.boun.edgecloudsim.utils.RandomStream;
 import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimRandom;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 public class VehicularLoadGenerator extends LoadGeneratorModel{
 	int taskTypeOfDevices[];
 
+	//generation state of each device, used to produce the next task of the device
+	private double[] activePeriodStartTimes;
+	private double[] virtualTimes;
+	private ExponentialDistribution[] intervalRngList;
+
+	//each device has its own random number stream, the distributions
+	//above draw the numbers from the stream of the related device
+	private RandomStream[] deviceRngs;
+	private RandomStream samplingRng;
+
 	public VehicularLoadGenerator(int _numberOfMobileDevices, double _simulationTime, String _simScenario) {
 		super(_numberOfMobileDevices, _simulationTime, _simScenario);
 	}
@@ -20,13 +32,32 @@ public class VehicularLoadGenerator extends LoadGeneratorModel{
 
 	@Override
 	public void initializeModel() {
+		streamingEnabled = SimSettings.getInstance().getTaskStreamingEnabled();
 		taskList = new ArrayList<TaskProperty>();
+		samplingRng = SimRandom.getStream("task_generator");
+
+		//exponential number generator for task interarrival time
+		intervalRngList = new ExponentialDistribution[SimSettings.getInstance().getTaskLookUpTable().length];
+		for(int i=0; i<SimSettings.getInstance().getTaskLookUpTable().length; i++) {
+			if(SimSettings.getInstance().getTaskLookUpTable()[i][0] ==0)
+				continue;
+
+			double poissonMean = SimSettings.getInstance().getTaskLookUpTable()[i][2];
+			intervalRngList[i] = new ExponentialDistribution(samplingRng, poissonMean);
+			//ExponentialDistribution rng[] = new ExponentialDistribution[10];
+			//for(int j=0; j<10; j++)
+			//	rng[j] = new ExponentialDistribution(poissonMean * ((double)1 + (double)j * (double) 0.12));
+		}
 
 		//Each mobile device utilizes an app type (task type)
 		taskTypeOfDevices = new int[numberOfMobileDevices];
+		activePeriodStartTimes = new double[numberOfMobileDevices];
+		virtualTimes = new double[numberOfMobileDevices];
+		deviceRngs = new RandomStream[numberOfMobileDevices];
 		for(int i=0; i<numberOfMobileDevices; i++) {
+			deviceRngs[i] = SimRandom.getStream("task_generator", i);
 			int randomTaskType = -1;
-			double taskTypeSelector = SimUtils.getRandomDoubleNumber(0,100);
+			double taskTypeSelector = SimUtils.getRandomDoubleNumber(deviceRngs[i], 0, 100);
 			double taskTypePercentage = 0;
 			for (int j=0; j<SimSettings.getInstance().getTaskLookUpTable().length; j++) {
 				taskTypePercentage += SimSettings.getInstance().getTaskLookUpTable()[j][0];
@@ -37,60 +68,74 @@ public class VehicularLoadGenerator extends LoadGeneratorModel{
 			}
 			if(randomTaskType == -1){
 				SimLogger.printLine("Impossible is occurred! no random task type!");
+				//this device does not generate any task
+				virtualTimes[i] = simulationTime;
 				continue;
 			}
 
 			taskTypeOfDevices[i] = randomTaskType;
 
-			double poissonMean = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][2];
-			double activePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][3];
-			double idlePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][4];
-			double activePeriodStartTime = SimUtils.getRandomDoubleNumber(
+			activePeriodStartTimes[i] = SimUtils.getRandomDoubleNumber(deviceRngs[i],
 					SimSettings.CLIENT_ACTIVITY_START_TIME, 
 					SimSettings.CLIENT_ACTIVITY_START_TIME * 2);  //active period starts shortly after the simulation started (e.g. 10 seconds)
-			double virtualTime = activePeriodStartTime;
+			virtualTimes[i] = activePeriodStartTimes[i];
 
-			ExponentialDistribution rng = new ExponentialDistribution(poissonMean);
-			//ExponentialDistribution rng[] = new ExponentialDistribution[10];
-			//for(int j=0; j<10; j++)
-			//	rng[j] = new ExponentialDistribution(poissonMean * ((double)1 + (double)j * (double) 0.12));
+			//in streaming mode, tasks are generated while the simulation is running
+			if(streamingEnabled)
+				continue;
 
-			while(virtualTime < simulationTime) {
-				//int index = Math.min(9, (int)virtualTime / 15);
-				//double interval = rng[9-index].sample();
-				double interval = rng.sample();
+			TaskProperty task = getNextTask(i);
+			while(task != null) {
+				taskList.add(task);
+				task = getNextTask(i);
+			}
+		}
+	}
 
-				if(interval <= 0){
-					SimLogger.printLine("Impossible is occurred! interval is " + interval + " for device " + i + " time " + virtualTime);
-					continue;
-				}
-				//SimLogger.printLine(virtualTime + " -> " + interval + " for device " + i + " time ");
-				virtualTime += interval;
+	@Override
+	public TaskProperty getNextTask(int deviceId) {
+		int randomTaskType = taskTypeOfDevices[deviceId];
+		double activePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][3];
+		double idlePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][4];
+		samplingRng.attach(deviceRngs[deviceId]);
+
+		while(virtualTimes[deviceId] < simulationTime) {
+			//int index = Math.min(9, (int)virtualTime / 15);
+			//double interval = rng[9-index].sample();
+			double interval = intervalRngList[randomTaskType].sample();
+
+			if(interval <= 0){
+				SimLogger.printLine("Impossible is occurred! interval is " + interval + " for device " + deviceId + " time " + virtualTimes[deviceId]);
+				continue;
+			}
+			//SimLogger.printLine(virtualTime + " -> " + interval + " for device " + i + " time ");
+			virtualTimes[deviceId] += interval;
 
-				if(virtualTime > activePeriodStartTime + activePeriod){
-					activePeriodStartTime = activePeriodStartTime + activePeriod + idlePeriod;
-					virtualTime = activePeriodStartTime;
-					continue;
-				}
+			if(virtualTimes[deviceId] > activePeriodStartTimes[deviceId] + activePeriod){
+				activePeriodStartTimes[deviceId] = activePeriodStartTimes[deviceId] + activePeriod + idlePeriod;
+				virtualTimes[deviceId] = activePeriodStartTimes[deviceId];
+				continue;
+			}
 
-				long inputFileSize = (long)SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][5];
-				long inputFileSizeBias = inputFileSize / 10;
+			long inputFileSize = (long)SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][5];
+			long inputFileSizeBias = inputFileSize / 10;
 
-				long outputFileSize =(long)SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][6];
-				long outputFileSizeBias = outputFileSize / 10;
+			long outputFileSize =(long)SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][6];
+			long outputFileSizeBias = outputFileSize / 10;
 
-				long length = (long)SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][7];	
-				long lengthBias = length / 10;
+			long length = (long)SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][7];	
+			long lengthBias = length / 10;
 
-				int pesNumber = (int)SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][8];
+			int pesNumber = (int)SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][8];
 
-				inputFileSize = SimUtils.getRandomLongNumber(inputFileSize - inputFileSizeBias, inputFileSize + inputFileSizeBias);
-				outputFileSize = SimUtils.getRandomLongNumber(outputFileSize - outputFileSizeBias, outputFileSize + outputFileSizeBias);
-				length = SimUtils.getRandomLongNumber(length - lengthBias, length + lengthBias);
+			inputFileSize = SimUtils.getRandomLongNumber(deviceRngs[deviceId], inputFileSize - inputFileSizeBias, inputFileSize + inputFileSizeBias);
+			outputFileSize = SimUtils.getRandomLongNumber(deviceRngs[deviceId], outputFileSize - outputFileSizeBias, outputFileSize + outputFileSizeBias);
+			length = SimUtils.getRandomLongNumber(deviceRngs[deviceId], length - lengthBias, length + lengthBias);
 
-				taskList.add(new TaskProperty(virtualTime, i, randomTaskType, pesNumber, length, inputFileSize, outputFileSize));
-			}
+			return new TaskProperty(virtualTimes[deviceId], deviceId, randomTaskType, pesNumber, length, inputFileSize, outputFileSize);
 		}
+
+		return null;
 	}
 
 	@Override
@@ -18,9 +18,11 @@ import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.core.CloudSim;
 
 import edu.boun.edgecloudsim.core.ScenarioFactory;
+import edu.boun.edgecloudsim.core.ScenarioSweepExecutor;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimRandom;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 public class VehicularMainApp {
@@ -63,6 +65,9 @@ public class VehicularMainApp {
 			System.exit(1);
 		}
 
+		//use a different random number sequence for each iteration
+		SimRandom.setMasterSeed(SS.getRandomSeed() + iterationNumber);
+
 		if(SS.getFileLoggingEnabled()){
 			SimUtils.cleanOutputFolder(outputFolder);
 			SimLogger.enableFileLog();
@@ -74,8 +79,21 @@ public class VehicularMainApp {
 		SimLogger.printLine("Simulation started at " + now);
 		SimLogger.printLine("----------------------------------------------------------------------");
 
-		String wekaModelsFolder = configFile.substring(0, configFile.lastIndexOf('/')) + "/weka/";
-		WekaWrapper.getInstance().initialize("MultilayerPerceptron", "LinearRegression", wekaModelsFolder);
+		//run the scenarios in parallel if more than one thread is configured
+		//each worker thread has its own WekaWrapper, see runScenario
+		if(SS.getNumOfSweepThreads() > 1){
+			ScenarioSweepExecutor sweepExecutor = new ScenarioSweepExecutor(VehicularScenarioFactory.class.getName(),
+					configFile, edgeDevicesFile, applicationsFile, outputFolder, iterationNumber, SS.getNumOfSweepThreads());
+			sweepExecutor.setScenarioRunner(VehicularMainApp.class.getName());
+			sweepExecutor.run();
+
+			Date SimulationEndDate = Calendar.getInstance().getTime();
+			now = df.format(SimulationEndDate);
+			SimLogger.printLine("Simulation finished at " + now +  ". It took " + SimUtils.getTimeDifference(SimulationStartDate,SimulationEndDate));
+			return;
+		}
+
+		initializeWekaWrapper(configFile);
 
 		for(int i=SS.getMinNumOfMobileDev(); i<=SS.getMaxNumOfMobileDev(); i+=SS.getMobileDevCounterSize())
 			for(int s=0; s<SS.getSimulationScenarios().length; s++)
@@ -87,6 +105,24 @@ public class VehicularMainApp {
 		SimLogger.printLine("Simulation finished at " + now +  ". It took " + SimUtils.getTimeDifference(SimulationStartDate,SimulationEndDate));
 	}
 
+	/**
+	 * runs a single scenario in an isolated context of ScenarioSweepExecutor
+	 * this method is called via reflection by the worker threads
+	 */
+	public static void runScenario(String configFile, String edgeDevicesFile, String applicationsFile,
+			String outputFolder, int iterationNumber,
+			int numOfMobileDevices, String simScenario, String orchestratorPolicy) {
+		if(ScenarioSweepExecutor.initializeContext(configFile, edgeDevicesFile, applicationsFile, iterationNumber))
+			initializeWekaWrapper(configFile);
+
+		mainHelper(outputFolder, simScenario, orchestratorPolicy, iterationNumber, numOfMobileDevices);
+	}
+
+	private static void initializeWekaWrapper(String configFile) {
+		String wekaModelsFolder = configFile.substring(0, configFile.lastIndexOf('/')) + "/weka/";
+		WekaWrapper.getInstance().initialize("MultilayerPerceptron", "LinearRegression", wekaModelsFolder);
+	}
+
 	public static void mainHelper(String outputFolder, String simulationScenario, String orchestratorPolicy, int iterationNumber, int numOfMobileDevice){
 		DateFormat df = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
 		Date ScenarioStartDate = Calendar.getInstance().getTime();
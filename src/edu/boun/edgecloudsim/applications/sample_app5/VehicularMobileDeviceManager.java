@@ -19,7 +19,6 @@ import org.cloudbus.cloudsim.UtilizationModel;
 import org.cloudbus.cloudsim.UtilizationModelFull;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEvent;
 
 import edu.boun.edgecloudsim.applications.sample_app5.VehicularEdgeOrchestrator;
@@ -129,15 +128,15 @@ public class VehicularMobileDeviceManager extends MobileDeviceManager {
 			}
 		}
 		else if(task.getAssociatedDatacenterId() == VehicularEdgeOrchestrator.EDGE_DATACENTER) {
-			Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock());
-			if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+			int currentWlanId = SimManager.getInstance().getMobilityModel().getServingWlanId(task.getMobileDeviceId(),CloudSim.clock());
+			if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 			{
 				NETWORK_DELAY_TYPES delayType = NETWORK_DELAY_TYPES.WLAN_DELAY;
 				double wlanDelay = networkModel.getDownloadDelay(delayType, task);
 				if(wlanDelay > 0)
 				{
-					Location futureLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+wlanDelay);
-					if(task.getSubmittedLocation().getServingWlanId() == futureLocation.getServingWlanId())
+					int futureWlanId = SimManager.getInstance().getMobilityModel().getServingWlanId(task.getMobileDeviceId(),CloudSim.clock()+wlanDelay);
+					if(task.getSubmittedLocation().getServingWlanId() == futureWlanId)
 					{
 						SimLogger.getInstance().setDownloadDelay(task.getCloudletId(), wlanDelay, delayType);
 						schedule(getId(), wlanDelay, RESPONSE_RECEIVED_BY_MOBILE_DEVICE, task);
@@ -246,9 +245,7 @@ public class VehicularMobileDeviceManager extends MobileDeviceManager {
 				task.setAssociatedVmId(selectedVM.getId());
 
 				//bind task to related VM
-				getCloudletList().add(task);
-				bindCloudletToVm(task.getCloudletId(), selectedVM.getId());
-				getCloudletList().clear();
+				bindTaskToVm(task, selectedVM);
 
 				if(selectedVM instanceof EdgeVM) {
 					EdgeHost host = (EdgeHost)(selectedVM.getHost());
@@ -336,8 +333,8 @@ public class VehicularMobileDeviceManager extends MobileDeviceManager {
 		case RESPONSE_RECEIVED_BY_EDGE_DEVICE:
 		{
 			Task task = (Task) ev.getData();
-			Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock());
-			if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+			int currentWlanId = SimManager.getInstance().getMobilityModel().getServingWlanId(task.getMobileDeviceId(),CloudSim.clock());
+			if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 			{
 				scheduleNow(getId(), RESPONSE_RECEIVED_BY_EDGE_DEVICE_TO_RELAY_MOBILE_DEVICE, task);
 			}
@@ -369,10 +366,10 @@ public class VehicularMobileDeviceManager extends MobileDeviceManager {
 
 			if(wlanDelay > 0)
 			{
-				Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock());
-				Location futureLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+wlanDelay);
+				int currentWlanId = SimManager.getInstance().getMobilityModel().getServingWlanId(task.getMobileDeviceId(),CloudSim.clock());
+				int futureWlanId = SimManager.getInstance().getMobilityModel().getServingWlanId(task.getMobileDeviceId(),CloudSim.clock()+wlanDelay);
 
-				if(currentLocation.getServingWlanId() == futureLocation.getServingWlanId())
+				if(currentWlanId == futureWlanId)
 				{
 					SimLogger.getInstance().setDownloadDelay(task.getCloudletId(), wlanDelay, delayType);
 					schedule(getId(), wlanDelay, RESPONSE_RECEIVED_BY_MOBILE_DEVICE, task);}
@@ -540,7 +537,7 @@ public class VehicularMobileDeviceManager extends MobileDeviceManager {
 		} else {
 			// SimLogger.printLine(CloudSim.clock() + ": Cloudlet#" + task.getCloudletId() +
 			// " is submitted to VM#" + task.getVmId());
-			schedule(getVmsToDatacentersMap().get(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
+			submitTaskToBoundVm(task, 0);
 
 			SimLogger.getInstance().taskAssigned(task.getCloudletId(), task.getAssociatedDatacenterId(),
 					task.getAssociatedHostId(), task.getAssociatedVmId(), vmType.ordinal());
@@ -4,20 +4,23 @@
  * Description: 
  * VehicularMobilityModel implements basic vehicular mobility model
  * 
+ * The location of a vehicle is found by a binary search on the
+ * cumulative drive times of the road segments, so the cost of a query
+ * does not depend on how far the vehicle has driven. The locations are
+ * shared through the location registry of the edge topology.
+ * 
  * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
  * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
  */
 
 package edu.boun.edgecloudsim.applications.sample_app5;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
+import edu.boun.edgecloudsim.core.EdgeTopology;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.mobility.MobilityModel;
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.LocationRegistry;
+import edu.boun.edgecloudsim.utils.SimRandom;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 public class VehicularMobilityModel extends MobilityModel {
@@ -26,6 +29,7 @@ public class VehicularMobilityModel extends MobilityModel {
 	private int lengthOfSegment;
 	private double totalTimeForLoop; //seconds
 	private int[] locationTypes;
+	private LocationRegistry locationRegistry;
 
 	//prepare following arrays to decrease computation on getLocation() function
 	//NOTE: if the number of clients is high, keeping following values in RAM
@@ -35,6 +39,11 @@ public class VehicularMobilityModel extends MobilityModel {
 	private double[] timeToDriveLocationArray;//in seconds unit
 	private double[] timeToReachNextLocationArray; //in seconds unit
 
+	//time to drive from the beginning of the road to the beginning of
+	//each segment; the road is unrolled to two loops (plus one segment)
+	//so that the segments can be searched without wrapping around
+	private double[] cumulativeTimeArray; //in seconds unit
+
 	public VehicularMobilityModel(int _numberOfMobileDevices, double _simulationTime) {
 		super(_numberOfMobileDevices, _simulationTime);
 		// TODO Auto-generated constructor stub
@@ -43,21 +52,17 @@ public class VehicularMobilityModel extends MobilityModel {
 	@Override
 	public void initialize() {
 		//Find total length of the road
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		Element location = (Element)((Element)datacenterList.item(0)).getElementsByTagName("location").item(0);
-		int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
+		EdgeTopology topology = SimSettings.getInstance().getEdgeTopology();
+		locationRegistry = topology.getLocationRegistry();
+		int x_pos = topology.getDatacenter(0).getLocation().getXPos();
 		lengthOfSegment = x_pos * 2; //assume that all segments have the same length
-		int totalLengthOfRoad = lengthOfSegment * datacenterList.getLength();
+		int totalLengthOfRoad = lengthOfSegment * topology.getNumOfDatacenters();
 
 		//prepare locationTypes array to store attractiveness level of the locations
-		locationTypes = new int[datacenterList.getLength()];
-		timeToDriveLocationArray = new double[datacenterList.getLength()];
-		for(int i=0; i<datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			Element locationElement = (Element)datacenterElement.getElementsByTagName("location").item(0);
-			locationTypes[i] = Integer.parseInt(locationElement.getElementsByTagName("attractiveness").item(0).getTextContent());
+		locationTypes = new int[topology.getNumOfDatacenters()];
+		timeToDriveLocationArray = new double[topology.getNumOfDatacenters()];
+		for(int i=0; i<topology.getNumOfDatacenters(); i++) {
+			locationTypes[i] = topology.getDatacenter(i).getLocation().getPlaceTypeIndex();
 
 			//(3600 * lengthOfSegment) / (SPEED_FOR_PLACES[x] * 1000);
 			timeToDriveLocationArray[i] = ((double)3.6 * (double)lengthOfSegment) /
@@ -67,12 +72,17 @@ public class VehicularMobilityModel extends MobilityModel {
 			totalTimeForLoop += timeToDriveLocationArray[i];
 		}
 
+		cumulativeTimeArray = new double[2 * locationTypes.length + 2];
+		for(int i=1; i<cumulativeTimeArray.length; i++)
+			cumulativeTimeArray[i] = cumulativeTimeArray[i-1] +
+					timeToDriveLocationArray[(i-1) % locationTypes.length];
+
 		//assign a random x position as an initial position for each device
 		initialPositionArray = new int[numberOfMobileDevices];
 		initialLocationIndexArray =  new int[numberOfMobileDevices];
 		timeToReachNextLocationArray =  new double[numberOfMobileDevices];
 		for(int i=0; i<numberOfMobileDevices; i++) {
-			initialPositionArray[i] = SimUtils.getRandomNumber(0, totalLengthOfRoad-1);
+			initialPositionArray[i] = SimUtils.getRandomNumber(SimRandom.getStream("mobility", i), 0, totalLengthOfRoad-1);
 			initialLocationIndexArray[i] = initialPositionArray[i] / lengthOfSegment;
 			timeToReachNextLocationArray[i] = ((double)3.6 *
 					(double)(lengthOfSegment - (initialPositionArray[i] % lengthOfSegment))) /
@@ -82,31 +92,111 @@ public class VehicularMobilityModel extends MobilityModel {
 
 	@Override
 	public Location getLocation(int deviceId, double time) {
-		int ofset = 0;
-		double remainingTime = 0;
+		int locationIndex = getServingWlanId(deviceId, time);
+		return locationRegistry.getLocation(locationTypes[locationIndex], locationIndex, getXPos(deviceId, time), 0);
+	}
 
-		int locationIndex = initialLocationIndexArray[deviceId];
-		double timeToReachNextLocation = timeToReachNextLocationArray[deviceId];
+	/*
+	 * the WLAN access points are placed in the road segments in order,
+	 * so the serving WLAN id is the index of the segment
+	 */
+	@Override
+	public int getServingWlanId(int deviceId, double time) {
+		if(time < timeToReachNextLocationArray[deviceId])
+			return initialLocationIndexArray[deviceId];
+
+		return findSegment(deviceId, getTimeOnRoad(deviceId, time)) % locationTypes.length;
+	}
 
-		if(time < timeToReachNextLocation){
+	/*
+	 * returns the x position of a device at a certain time
+	 * unlike getLocation(), the location registry is not searched
+	 */
+	public int getXPos(int deviceId, double time) {
+		int locationIndex;
+		int ofset;
+		double remainingTime;
+
+		if(time < timeToReachNextLocationArray[deviceId]){
+			locationIndex = initialLocationIndexArray[deviceId];
 			ofset = initialPositionArray[deviceId];
 			remainingTime = time;
 		}
 		else{
-			remainingTime = (time - timeToReachNextLocation) % totalTimeForLoop;
-			locationIndex = (locationIndex+1) % locationTypes.length;
-
-			while(remainingTime > timeToDriveLocationArray[locationIndex]) {
-				remainingTime -= timeToDriveLocationArray[locationIndex];
-				locationIndex =  (locationIndex+1) % locationTypes.length;
-			}
-
+			double timeOnRoad = getTimeOnRoad(deviceId, time);
+			int segment = findSegment(deviceId, timeOnRoad);
+			locationIndex = segment % locationTypes.length;
 			ofset = locationIndex * lengthOfSegment;
+			remainingTime = timeOnRoad - cumulativeTimeArray[segment];
 		}
 
-		int x_pos = (int) (ofset + ( (SPEED_FOR_PLACES[locationTypes[locationIndex]] * remainingTime) / (double)3.6));
+		return (int) (ofset + ( (SPEED_FOR_PLACES[locationTypes[locationIndex]] * remainingTime) / (double)3.6));
+	}
 
-		return new Location(locationTypes[locationIndex], locationIndex, x_pos, 0);
+	@Override
+	public double getNextLocationChangeTime(int deviceId, double time) {
+		//the vehicles are on the road from the beginning, so their first
+		//access points are published at time 0
+		if(time < 0)
+			return 0;
+
+		//the serving WLAN never changes on a single segment road
+		if(locationTypes.length < 2)
+			return -1;
+
+		double timeToReachNextLocation = timeToReachNextLocationArray[deviceId];
+		if(time < timeToReachNextLocation)
+			return timeToReachNextLocation;
+
+		//find the end of the current segment on the current loop
+		double loopStartTime = time - ((time - timeToReachNextLocation) % totalTimeForLoop);
+		int segment = findSegment(deviceId, getTimeOnRoad(deviceId, time));
+		double changeTime = loopStartTime + cumulativeTimeArray[segment + 1] -
+				cumulativeTimeArray[initialLocationIndexArray[deviceId] + 1];
+
+		//a device at the end of a segment is still served by its WLAN, so
+		//the change time is the first value where getServingWlanId() differs;
+		//it may be a few values away from the calculated one due to rounding
+		int servingWlanId = segment % locationTypes.length;
+		while(changeTime <= time || getServingWlanId(deviceId, changeTime) == servingWlanId)
+			changeTime = Math.nextUp(changeTime);
+		while(Math.nextDown(changeTime) > time && getServingWlanId(deviceId, Math.nextDown(changeTime)) != servingWlanId)
+			changeTime = Math.nextDown(changeTime);
+
+		return changeTime;
 	}
 
+	@Override
+	public boolean isHandoverEventSupported() {
+		return true;
+	}
+
+	/*
+	 * returns the time on the unrolled road after the device reached
+	 * the segment following its initial segment
+	 */
+	private double getTimeOnRoad(int deviceId, double time) {
+		double remainingTime = (time - timeToReachNextLocationArray[deviceId]) % totalTimeForLoop;
+		return cumulativeTimeArray[initialLocationIndexArray[deviceId] + 1] + remainingTime;
+	}
+
+	/*
+	 * returns the segment on the unrolled road where the device is at the
+	 * given time on road; a device at the end of a segment stays on it
+	 */
+	private int findSegment(int deviceId, double timeOnRoad) {
+		//the device cannot be before its first segment
+		int low = initialLocationIndexArray[deviceId] + 1;
+		int high = cumulativeTimeArray.length - 2;
+
+		//find the first segment ending at or after the given time
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(cumulativeTimeArray[mid + 1] < timeOnRoad)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
 }
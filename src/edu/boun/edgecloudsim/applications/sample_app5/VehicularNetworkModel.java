@@ -79,6 +79,14 @@ public class VehicularNetworkModel extends NetworkModel {
 			}
 		}
 
+		/*
+		 * returns true if updateMM1Values() would change the values, which is
+		 * the case if a task is recorded or the last values are not restored yet
+		 */
+		public boolean isUpdateNeeded() {
+			return numOfTasks != 0 || currentPoissonMean != lastPoissonMean || currentTaskSize != lastTaskSize;
+		}
+
 		public void updateLastSuccessfulMM1QueueValues() {
 			lastPoissonMean = currentPoissonMean;
 			lastTaskSize = currentTaskSize;
@@ -113,6 +121,12 @@ public class VehicularNetworkModel extends NetworkModel {
 	private MMPPWrapper[] wlanMMPPForDownload;
 	private MMPPWrapper[] wlanMMPPForUpload;
 
+	//access points whose wlan MMPP values should be updated in the next
+	//MM1 queue model update, the values of the others would not change
+	private int[] wlanUpdateList;
+	private boolean[] isInWlanUpdateList;
+	private int wlanUpdateListSize;
+
 	private MMPPWrapper manMMPPForDownload;
 	private MMPPWrapper manMMPPForUpload;
 
@@ -141,6 +155,10 @@ public class VehicularNetworkModel extends NetworkModel {
 			wlanMMPPForUpload[apIndex] = new MMPPWrapper();
 		}
 
+		wlanUpdateList = new int[numOfAccessPoint];
+		isInWlanUpdateList = new boolean[numOfAccessPoint];
+		wlanUpdateListSize = 0;
+
 		manMMPPForDownload = new MMPPWrapper();
 		manMMPPForUpload = new MMPPWrapper();
 
@@ -249,54 +267,51 @@ public class VehicularNetworkModel extends NetworkModel {
 		return getWlanUploadDelay(0,apId,true);
 	}
 
-	public double estimateUploadDelay(NETWORK_DELAY_TYPES delayType, Task task) {
-		return getDelay(delayType, task, false, true);
-	}
-
-	public double estimateDownloadDelay(NETWORK_DELAY_TYPES delayType, Task task) {
-		return getDelay(delayType, task, true, true);
+	@Override
+	public double estimateDelay(NETWORK_DELAY_TYPES delayType, double dataSize, int accessPointId, boolean forDownload) {
+		return getDelay(delayType, dataSize, accessPointId, forDownload, true);
 	}
 
 	public double getUploadDelay(NETWORK_DELAY_TYPES delayType, Task task) {
-		return getDelay(delayType, task, false, false);
+		return getDelay(delayType, task.getCloudletFileSize(), task.getSubmittedLocation().getServingWlanId(), false, false);
 	}
 
 	public double getDownloadDelay(NETWORK_DELAY_TYPES delayType, Task task) {
-		return getDelay(delayType, task, true, false);
+		return getDelay(delayType, task.getCloudletOutputSize(), task.getSubmittedLocation().getServingWlanId(), true, false);
 	}
 
-	private double getDelay(NETWORK_DELAY_TYPES delayType, Task task, boolean forDownload, boolean justEstimate) {
+	private double getDelay(NETWORK_DELAY_TYPES delayType, double dataSize, int accessPointId, boolean forDownload, boolean justEstimate) {
 		double delay = 0;
 
 		if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY){
 			if(forDownload)
-				delay = getGsmDownloadDelay(task.getCloudletOutputSize(), justEstimate);
+				delay = getGsmDownloadDelay(dataSize, justEstimate);
 			else
-				delay = getGsmUploadDelay(task.getCloudletFileSize(), justEstimate);
+				delay = getGsmUploadDelay(dataSize, justEstimate);
 
 			if(delay != 0)
 				delay += SimSettings.getInstance().getGsmPropagationDelay();
 		}
 		else if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY){
 			if(forDownload)
-				delay = getWlanDownloadDelay(task.getCloudletOutputSize(), task.getSubmittedLocation().getServingWlanId(), justEstimate);
+				delay = getWlanDownloadDelay(dataSize, accessPointId, justEstimate);
 			else
-				delay = getWlanUploadDelay(task.getCloudletFileSize(), task.getSubmittedLocation().getServingWlanId(),justEstimate);
+				delay = getWlanUploadDelay(dataSize, accessPointId, justEstimate);
 		}
 		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY){
 			if(forDownload)
-				delay = getWanDownloadDelay(task.getCloudletOutputSize(), justEstimate);
+				delay = getWanDownloadDelay(dataSize, justEstimate);
 			else
-				delay = getWanUploadDelay(task.getCloudletFileSize(), justEstimate);
+				delay = getWanUploadDelay(dataSize, justEstimate);
 
 			if(delay != 0)
 				delay += SimSettings.getInstance().getWanPropagationDelay();
 		}
 		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY){
 			if(forDownload)
-				delay = getManDownloadDelay(task.getCloudletOutputSize(), justEstimate);
+				delay = getManDownloadDelay(dataSize, justEstimate);
 			else
-				delay = getManUploadDelay(task.getCloudletFileSize(), justEstimate);
+				delay = getManUploadDelay(dataSize, justEstimate);
 
 			if(delay != 0)
 				delay += SimSettings.getInstance().getInternalLanDelay();
@@ -325,6 +340,9 @@ public class VehicularNetworkModel extends NetworkModel {
 	private double getWlanDownloadDelay(double taskSize, int accessPointId, boolean justEstimate) {
 		double bw = SimSettings.getInstance().getWlanBandwidth();
 
+		if(!justEstimate)
+			addToWlanUpdateList(accessPointId);
+
 		double result = calculateMM1(taskSize, bw, wlanMMPPForDownload[accessPointId],justEstimate);
 
 		if(maxWlanDelay < result)
@@ -336,6 +354,9 @@ public class VehicularNetworkModel extends NetworkModel {
 	private double getWlanUploadDelay(double taskSize, int accessPointId, boolean justEstimate) {
 		double bw = SimSettings.getInstance().getWlanBandwidth();
 
+		if(!justEstimate)
+			addToWlanUpdateList(accessPointId);
+
 		double result = calculateMM1(taskSize, bw, wlanMMPPForUpload[accessPointId], justEstimate);
 
 		if(maxWlanDelay < result)
@@ -344,6 +365,13 @@ public class VehicularNetworkModel extends NetworkModel {
 		return result;
 	}
 
+	private void addToWlanUpdateList(int accessPointId) {
+		if(!isInWlanUpdateList[accessPointId]) {
+			isInWlanUpdateList[accessPointId] = true;
+			wlanUpdateList[wlanUpdateListSize++] = accessPointId;
+		}
+	}
+
 	private double getManDownloadDelay(double taskSize, boolean justEstimate) {
 		double bw = SimSettings.getInstance().getManBandwidth();
 
@@ -405,8 +433,6 @@ public class VehicularNetworkModel extends NetworkModel {
 	}
 
 	public void updateMM1QueeuModel(){
-		int numOfAccessPoint = SimSettings.getInstance().getNumOfEdgeDatacenters();
-
 		double lastInterval = CloudSim.clock() - lastMM1QueeuUpdateTime;
 		lastMM1QueeuUpdateTime = CloudSim.clock();
 
@@ -420,7 +446,11 @@ public class VehicularNetworkModel extends NetworkModel {
 
 		//UPDATE MM1 QUEUE MODEL VARIABLES to simulate mmpp/m/1 queue model
 		//for wlan:
-		for(int i = 0; i< numOfAccessPoint; i++){
+		//only the access points in the update list are visited; an access point
+		//stays in the list until its values are restored to the last successful ones
+		int newWlanUpdateListSize = 0;
+		for(int j = 0; j< wlanUpdateListSize; j++){
+			int i = wlanUpdateList[j];
 			wlanMMPPForDownload[i].updateMM1Values(lastInterval, 0, 0);
 			wlanMMPPForUpload[i].updateMM1Values(lastInterval, 0, 0);
 
@@ -428,7 +458,13 @@ public class VehicularNetworkModel extends NetworkModel {
 				wlanMMPPForDownload[i].updateLastSuccessfulMM1QueueValues();
 			if(getWlanUploadDelay(0, i, true) != 0)
 				wlanMMPPForUpload[i].updateLastSuccessfulMM1QueueValues();
+
+			if(wlanMMPPForDownload[i].isUpdateNeeded() || wlanMMPPForUpload[i].isUpdateNeeded())
+				wlanUpdateList[newWlanUpdateListSize++] = i;
+			else
+				isInWlanUpdateList[i] = false;
 		}
+		wlanUpdateListSize = newWlanUpdateListSize;
 
 		//for man:
 		manMMPPForDownload.updateMM1Values(lastInterval, numOfControlMessagePerInterval, sizeOfControlMessages);
@@ -47,9 +47,55 @@ public class WekaWrapper {
 
 	private static final String[] CLASSIFIER_CLASSES = {"fail","success"};
 
+	/*
+	 * ModelInput keeps the dataset header and the input instance of a model,
+	 * so that no Weka object is created for each prediction. The instance
+	 * refers to the value buffer; the normalized values are written to the
+	 * buffer directly before calling the model.
+	 */
+	private static class ModelInput {
+		private double[] meanVals;
+		private double[] stdVals;
+		private double[] buffer;
+		private Instance instance;
+
+		private ModelInput(String relation, String[] attributes, double[] _meanVals, double[] _stdVals, boolean isClassifier) {
+			meanVals = _meanVals;
+			stdVals = _stdVals;
+
+			ArrayList<Attribute> atts = new ArrayList<Attribute>();
+			for(int i=0; i<attributes.length; i++)
+				atts.add(new Attribute(attributes[i]));
+
+			if(isClassifier) {
+				ArrayList<String> classVal = new ArrayList<String>();
+				for(int i=0; i<CLASSIFIER_CLASSES.length; i++)
+					classVal.add(CLASSIFIER_CLASSES[i]);
+				atts.add(new Attribute("class",classVal));
+			}
+
+			Instances header = new Instances(relation,atts,0);
+			header.setClassIndex(header.numAttributes()-1);
+
+			//DenseInstance uses the given array itself, not a copy of it
+			buffer = new double[header.numAttributes()];
+			instance = new DenseInstance(1.0, buffer);
+			instance.setDataset(header);
+		}
+
+		private Instance getInstance(double[] values) {
+			for(int i=0; i<values.length; i++)
+				buffer[i] = (values[i] - meanVals[i]) / stdVals[i];
+			return instance;
+		}
+	}
+
 	private AbstractClassifier classifier_edge, classifier_cloud_rsu, classifier_cloud_gsm;
 	private AbstractClassifier regression_edge, regression_cloud_rsu, regression_cloud_gsm;
 
+	private ModelInput classifier_edge_input, classifier_cloud_rsu_input, classifier_cloud_gsm_input;
+	private ModelInput regression_edge_input, regression_cloud_rsu_input, regression_cloud_gsm_input;
+
 	private static WekaWrapper singleton = new WekaWrapper();
 
 	/*
@@ -108,6 +154,20 @@ public class WekaWrapper {
 			SimLogger.printLine("cannot serialize weka objects!");
 			System.exit(1);
 		}
+
+		classifier_edge_input = new ModelInput("edge", EDGE_CLASSIFIER_ATTRIBUTES,
+				EDGE_CLASSIFIER_MEAN_VALS, EDGE_CLASSIFIER_STD_VALS, true);
+		classifier_cloud_rsu_input = new ModelInput("cloud_rsu", CLOUD_RSU_CLASSIFIER_ATTRIBUTES,
+				CLOUD_RSU_CLASSIFIER_MEAN_VALS, CLOUD_RSU_CLASSIFIER_STD_VALS, true);
+		classifier_cloud_gsm_input = new ModelInput("cloud_gsm", CLOUD_GSM_CLASSIFIER_ATTRIBUTES,
+				CLOUD_GSM_CLASSIFIER_MEAN_VALS, CLOUD_GSM_CLASSIFIER_STD_VALS, true);
+
+		regression_edge_input = new ModelInput("edge", EDGE_REGRESSION_ATTRIBUTES,
+				EDGE_REGRESSION_MEAN_VALS, EDGE_REGRESSION_STD_VALS, false);
+		regression_cloud_rsu_input = new ModelInput("cloud_rsu", CLOUD_RSU_REGRESSION_ATTRIBUTES,
+				CLOUD_RSU_REGRESSION_MEAN_VALS, CLOUD_RSU_REGRESSION_STD_VALS, false);
+		regression_cloud_gsm_input = new ModelInput("cloud_gsm", CLOUD_GSM_REGRESSION_ATTRIBUTES,
+				CLOUD_GSM_REGRESSION_MEAN_VALS, CLOUD_GSM_REGRESSION_STD_VALS, false);
 	}
 
 	public double handleRegression(int targetDatacenter, double[] values) {
@@ -115,24 +175,15 @@ public class WekaWrapper {
 
 		try {
 			if(targetDatacenter == VehicularEdgeOrchestrator.EDGE_DATACENTER) {
-				Instance data = getRegressionData("edge", values,
-						EDGE_REGRESSION_ATTRIBUTES,
-						EDGE_REGRESSION_MEAN_VALS,
-						EDGE_REGRESSION_STD_VALS);
+				Instance data = regression_edge_input.getInstance(values);
 				result = regression_edge.classifyInstance(data);
 			}
 			else if(targetDatacenter == VehicularEdgeOrchestrator.CLOUD_DATACENTER_VIA_RSU) {
-				Instance data = getRegressionData("cloud_rsu", values,
-						CLOUD_RSU_REGRESSION_ATTRIBUTES,
-						CLOUD_RSU_REGRESSION_MEAN_VALS,
-						CLOUD_RSU_REGRESSION_STD_VALS);
+				Instance data = regression_cloud_rsu_input.getInstance(values);
 				result = regression_cloud_rsu.classifyInstance(data);
 			}
 			else if(targetDatacenter == VehicularEdgeOrchestrator.CLOUD_DATACENTER_VIA_GSM) {
-				Instance data = getRegressionData("cloud_gsm", values,
-						CLOUD_GSM_REGRESSION_ATTRIBUTES,
-						CLOUD_GSM_REGRESSION_MEAN_VALS,
-						CLOUD_GSM_REGRESSION_STD_VALS);
+				Instance data = regression_cloud_gsm_input.getInstance(values);
 				result = regression_cloud_gsm.classifyInstance(data);
 			}
 		}
@@ -149,24 +200,15 @@ public class WekaWrapper {
 
 		try {
 			if(targetDatacenter == VehicularEdgeOrchestrator.EDGE_DATACENTER) {
-				Instance data = getClassificationData("edge", values,
-						EDGE_CLASSIFIER_ATTRIBUTES,
-						EDGE_CLASSIFIER_MEAN_VALS,
-						EDGE_CLASSIFIER_STD_VALS);
+				Instance data = classifier_edge_input.getInstance(values);
 				result = (classifier_edge.classifyInstance(data) == 1) ? true : false;
 			}
 			else if(targetDatacenter == VehicularEdgeOrchestrator.CLOUD_DATACENTER_VIA_RSU) {
-				Instance data = getClassificationData("cloud_rsu", values,
-						CLOUD_RSU_CLASSIFIER_ATTRIBUTES,
-						CLOUD_RSU_CLASSIFIER_MEAN_VALS,
-						CLOUD_RSU_CLASSIFIER_STD_VALS);
+				Instance data = classifier_cloud_rsu_input.getInstance(values);
 				result = (classifier_cloud_rsu.classifyInstance(data) == 1) ? true : false;
 			}
 			else if(targetDatacenter == VehicularEdgeOrchestrator.CLOUD_DATACENTER_VIA_GSM) {
-				Instance data = getClassificationData("cloud_gsm", values,
-						CLOUD_GSM_CLASSIFIER_ATTRIBUTES,
-						CLOUD_GSM_CLASSIFIER_MEAN_VALS,
-						CLOUD_GSM_CLASSIFIER_STD_VALS);
+				Instance data = classifier_cloud_gsm_input.getInstance(values);
 				result = (classifier_cloud_gsm.classifyInstance(data) == 1) ? true : false;
 			}
 		}
@@ -178,42 +220,22 @@ public class WekaWrapper {
 		return result;
 	}
 
-	private Instance getRegressionData(String relation, double[] values, String[] attributes, double[] meanVals, double[] stdVals) {
-		ArrayList<Attribute> atts = new ArrayList<Attribute>();
-		for(int i=0; i<attributes.length; i++)
-			atts.add(new Attribute(attributes[i]));
-
-		Instances dataRaw = new Instances(relation,atts,0);
-		double[] instanceValue1 = new double[dataRaw.numAttributes()];
-		for(int i=0; i<values.length; i++)
-			instanceValue1[i] = (values[i] - meanVals[i]) / stdVals[i];
-
-		dataRaw.add(new DenseInstance(1.0, instanceValue1));
-		dataRaw.setClassIndex(dataRaw.numAttributes()-1);
-
-		return dataRaw.get(0);
+	/*
+	 * classifies the task for each of the given target datacenters in one call
+	 * values[i] and results[i] belong to targetDatacenters[i]
+	 */
+	public void handleClassification(int[] targetDatacenters, double[][] values, boolean[] results) {
+		for(int i=0; i<targetDatacenters.length; i++)
+			results[i] = handleClassification(targetDatacenters[i], values[i]);
 	}
 
-	public Instance getClassificationData(String relation, double[] values, String[] attributes, double[] meanVals, double[] stdVals) {		
-		ArrayList<Attribute> atts = new ArrayList<Attribute>();
-		ArrayList<String> classVal = new ArrayList<String>();
-		for(int i=0; i<CLASSIFIER_CLASSES.length; i++)
-			classVal.add(CLASSIFIER_CLASSES[i]);
-
-		for(int i=0; i<attributes.length; i++)
-			atts.add(new Attribute(attributes[i]));
-
-		atts.add(new Attribute("class",classVal));
-
-		Instances dataRaw = new Instances(relation,atts,0);
-
-		double[] instanceValue1 = new double[dataRaw.numAttributes()];
-		for(int i=0; i<values.length; i++)
-			instanceValue1[i] = (values[i] - meanVals[i]) / stdVals[i];
-
-		dataRaw.add(new DenseInstance(1.0, instanceValue1));
-		dataRaw.setClassIndex(dataRaw.numAttributes()-1);
-
-		return dataRaw.get(0);
+	/*
+	 * predicts the service time of the task for each of the given target
+	 * datacenters whose classification result is true, the others are
+	 * set to Double.MAX_VALUE
+	 */
+	public void handleRegression(int[] targetDatacenters, double[][] values, boolean[] classificationResults, double[] results) {
+		for(int i=0; i<targetDatacenters.length; i++)
+			results[i] = classificationResults[i] ? handleRegression(targetDatacenters[i], values[i]) : Double.MAX_VALUE;
 	}
 }
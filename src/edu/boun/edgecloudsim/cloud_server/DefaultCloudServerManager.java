@@ -14,7 +14,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Host;
@@ -29,8 +28,11 @@ import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_server.CloudletSchedulerTimeShared_Custom;
+import edu.boun.edgecloudsim.edge_server.VmUtilizationAggregate;
 
 public class DefaultCloudServerManager extends CloudServerManager{
+	private VmUtilizationAggregate utilizationAggregate;
 
 	public DefaultCloudServerManager() {
 
@@ -69,15 +71,28 @@ public class DefaultCloudServerManager extends CloudServerManager{
 				long bandwidth = 0;
 				
 				//VM Parameters		
-				CloudVM vm = new CloudVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared());
+				CloudVM vm = new CloudVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared_Custom());
 				vmList.get(i).add(vm);
 				vmCounter++;
 			}
 		}
+
+		//utilization of the VMs is tracked while the cloudlets are submitted and finished
+		if(VmUtilizationAggregate.isAggregatable(vmList))
+			utilizationAggregate = new VmUtilizationAggregate(vmList);
 	}
 	
 	//average utilization of all VMs
 	public double getAvgUtilization(){
+		if(utilizationAggregate == null)
+			return calculateAvgUtilization();
+
+		//the aggregate is checked against the full scan if assertions are enabled
+		assert Math.abs(utilizationAggregate.getAvgUtilization() - calculateAvgUtilization()) < 1e-6;
+		return utilizationAggregate.getAvgUtilization();
+	}
+
+	private double calculateAvgUtilization(){
 		double totalUtilization = 0;
 		double vmCounter = 0;
 
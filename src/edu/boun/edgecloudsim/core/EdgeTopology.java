@@ -0,0 +1,259 @@
+/*
+ * Title:        EdgeCloudSim - Edge Topology
+ *
+ * Description:
+ * EdgeTopology keeps the edge datacenters, hosts and VMs defined in
+ * edge_devices.xml in arrays. It is created once by SimSettings after
+ * the XML file is validated, and it is not modified afterwards.
+ *
+ * Hosts and VMs are numbered in the order they appear in the XML file,
+ * which is the same order used while creating the EdgeHost and EdgeVM
+ * objects; so the VM id can be used to find the datacenter and the host
+ * of a VM in constant time.
+ *
+ * The locations of the datacenters are kept in a LocationRegistry, in
+ * which the mobility models can share the other locations as well.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.core;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.LocationRegistry;
+
+public class EdgeTopology {
+	public static class DatacenterInfo {
+		private String arch;
+		private String os;
+		private String vmm;
+		private double costPerBw;
+		private double costPerSec;
+		private double costPerMem;
+		private double costPerStorage;
+		private Location location;
+		private HostInfo[] hosts;
+
+		public String getArch() {
+			return arch;
+		}
+
+		public String getOs() {
+			return os;
+		}
+
+		public String getVmm() {
+			return vmm;
+		}
+
+		public double getCostPerBw() {
+			return costPerBw;
+		}
+
+		public double getCostPerSec() {
+			return costPerSec;
+		}
+
+		public double getCostPerMem() {
+			return costPerMem;
+		}
+
+		public double getCostPerStorage() {
+			return costPerStorage;
+		}
+
+		public Location getLocation() {
+			return location;
+		}
+
+		public int getNumOfHosts() {
+			return hosts.length;
+		}
+
+		public HostInfo getHost(int hostIndex) {
+			return hosts[hostIndex];
+		}
+	}
+
+	public static class HostInfo {
+		private int numOfCores;
+		private double mips;
+		private int ram;
+		private long storage;
+		private VmInfo[] vms;
+
+		public int getNumOfCores() {
+			return numOfCores;
+		}
+
+		public double getMips() {
+			return mips;
+		}
+
+		public int getRam() {
+			return ram;
+		}
+
+		public long getStorage() {
+			return storage;
+		}
+
+		public int getNumOfVms() {
+			return vms.length;
+		}
+
+		public VmInfo getVm(int vmIndex) {
+			return vms[vmIndex];
+		}
+	}
+
+	public static class VmInfo {
+		private String vmm;
+		private int numOfCores;
+		private double mips;
+		private int ram;
+		private long storage;
+		private int datacenterIndex;
+		private int hostIndex;
+
+		public String getVmm() {
+			return vmm;
+		}
+
+		public int getNumOfCores() {
+			return numOfCores;
+		}
+
+		public double getMips() {
+			return mips;
+		}
+
+		public int getRam() {
+			return ram;
+		}
+
+		public long getStorage() {
+			return storage;
+		}
+
+		/**
+		 * returns the index of the datacenter which the VM belongs to
+		 */
+		public int getDatacenterIndex() {
+			return datacenterIndex;
+		}
+
+		/**
+		 * returns the index of the host in its datacenter
+		 */
+		public int getHostIndex() {
+			return hostIndex;
+		}
+	}
+
+	private DatacenterInfo[] datacenters;
+	private VmInfo[] vms; //VM id is used as index
+	private LocationRegistry locationRegistry;
+
+	/**
+	 * the document should be validated before creating the topology
+	 */
+	EdgeTopology(Document doc) {
+		NodeList datacenterList = doc.getElementsByTagName("datacenter");
+		datacenters = new DatacenterInfo[datacenterList.getLength()];
+		locationRegistry = new LocationRegistry();
+
+		int numOfVms = 0;
+		for (int i = 0; i < datacenterList.getLength(); i++) {
+			Element datacenterElement = (Element) datacenterList.item(i);
+			DatacenterInfo datacenter = new DatacenterInfo();
+			datacenter.arch = datacenterElement.getAttribute("arch");
+			datacenter.os = datacenterElement.getAttribute("os");
+			datacenter.vmm = datacenterElement.getAttribute("vmm");
+			datacenter.costPerBw = Double.parseDouble(getTextContent(datacenterElement, "costPerBw"));
+			datacenter.costPerSec = Double.parseDouble(getTextContent(datacenterElement, "costPerSec"));
+			datacenter.costPerMem = Double.parseDouble(getTextContent(datacenterElement, "costPerMem"));
+			datacenter.costPerStorage = Double.parseDouble(getTextContent(datacenterElement, "costPerStorage"));
+
+			Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
+			int placeTypeIndex = Integer.parseInt(getTextContent(location, "attractiveness"));
+			int wlan_id = Integer.parseInt(getTextContent(location, "wlan_id"));
+			int x_pos = Integer.parseInt(getTextContent(location, "x_pos"));
+			int y_pos = Integer.parseInt(getTextContent(location, "y_pos"));
+			datacenter.location = locationRegistry.getLocation(placeTypeIndex, wlan_id, x_pos, y_pos);
+
+			NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
+			datacenter.hosts = new HostInfo[hostNodeList.getLength()];
+			for (int j = 0; j < hostNodeList.getLength(); j++) {
+				Element hostElement = (Element) hostNodeList.item(j);
+				HostInfo host = new HostInfo();
+				host.numOfCores = Integer.parseInt(getTextContent(hostElement, "core"));
+				host.mips = Double.parseDouble(getTextContent(hostElement, "mips"));
+				host.ram = Integer.parseInt(getTextContent(hostElement, "ram"));
+				host.storage = Long.parseLong(getTextContent(hostElement, "storage"));
+
+				NodeList vmNodeList = hostElement.getElementsByTagName("VM");
+				host.vms = new VmInfo[vmNodeList.getLength()];
+				for (int k = 0; k < vmNodeList.getLength(); k++) {
+					Element vmElement = (Element) vmNodeList.item(k);
+					VmInfo vm = new VmInfo();
+					vm.vmm = vmElement.getAttribute("vmm");
+					vm.numOfCores = Integer.parseInt(getTextContent(vmElement, "core"));
+					vm.mips = Double.parseDouble(getTextContent(vmElement, "mips"));
+					vm.ram = Integer.parseInt(getTextContent(vmElement, "ram"));
+					vm.storage = Long.parseLong(getTextContent(vmElement, "storage"));
+					vm.datacenterIndex = i;
+					vm.hostIndex = j;
+					host.vms[k] = vm;
+				}
+
+				numOfVms += host.vms.length;
+				datacenter.hosts[j] = host;
+			}
+
+			datacenters[i] = datacenter;
+		}
+
+		//create VM id index
+		vms = new VmInfo[numOfVms];
+		int vmCounter = 0;
+		for(DatacenterInfo datacenter : datacenters)
+			for(HostInfo host : datacenter.hosts)
+				for(VmInfo vm : host.vms)
+					vms[vmCounter++] = vm;
+	}
+
+	private static String getTextContent(Element element, String key) {
+		return element.getElementsByTagName(key).item(0).getTextContent();
+	}
+
+	public int getNumOfDatacenters() {
+		return datacenters.length;
+	}
+
+	public DatacenterInfo getDatacenter(int datacenterIndex) {
+		return datacenters[datacenterIndex];
+	}
+
+	public int getNumOfVms() {
+		return vms.length;
+	}
+
+	public LocationRegistry getLocationRegistry() {
+		return locationRegistry;
+	}
+
+	/**
+	 * returns the VM information for the given VM id, null if there is no such VM
+	 */
+	public VmInfo getVm(int vmId) {
+		if(vmId < 0 || vmId >= vms.length)
+			return null;
+		return vms[vmId];
+	}
+}
@@ -0,0 +1,246 @@
+/*
+ * Title:        EdgeCloudSim - Scenario Sweep Executor
+ *
+ * Description:
+ * ScenarioSweepExecutor runs the (number of devices, scenario, policy)
+ * combinations defined in the config file on a fixed size thread pool
+ * within the same JVM.
+ *
+ * SimSettings, SimManager, SimLogger and CloudSim keep their state in
+ * static fields; therefore each worker thread loads these classes via
+ * its own class loader and runs its scenarios one after another in
+ * this isolated context, as the sequential loop in the main applications
+ * does. The classes are loaded once for each worker thread, not for
+ * each scenario.
+ *
+ * Applications which need additional steps around the scenarios can set a
+ * scenario runner class. Its static runScenario method is called in the
+ * isolated context instead of the default one; see VehicularMainApp.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.core;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimRandom;
+import edu.boun.edgecloudsim.utils.SimUtils;
+
+public class ScenarioSweepExecutor {
+	//each isolated context has its own copy of this field
+	private static boolean contextInitialized = false;
+
+	private String scenarioFactoryClassName;
+	private String configFile;
+	private String edgeDevicesFile;
+	private String applicationsFile;
+	private String outputFolder;
+	private int iterationNumber;
+	private int numOfThreads;
+	private String scenarioRunnerClassName;
+
+	/**
+	 * the scenario factory class must have a constructor taking the number of
+	 * mobile devices, simulation time, orchestrator policy and simulation scenario
+	 */
+	public ScenarioSweepExecutor(String _scenarioFactoryClassName,
+			String _configFile, String _edgeDevicesFile, String _applicationsFile,
+			String _outputFolder, int _iterationNumber, int _numOfThreads) {
+		scenarioFactoryClassName = _scenarioFactoryClassName;
+		configFile = _configFile;
+		edgeDevicesFile = _edgeDevicesFile;
+		applicationsFile = _applicationsFile;
+		outputFolder = _outputFolder;
+		iterationNumber = _iterationNumber;
+		numOfThreads = _numOfThreads;
+		scenarioRunnerClassName = null;
+	}
+
+	/**
+	 * the scenario runner class must have a public static runScenario method
+	 * taking the config file, edge devices file, applications file, output
+	 * folder, iteration number, number of mobile devices, simulation scenario
+	 * and orchestrator policy; the scenario factory is not used in this case
+	 */
+	public void setScenarioRunner(String _scenarioRunnerClassName) {
+		scenarioRunnerClassName = _scenarioRunnerClassName;
+	}
+
+	/**
+	 * runs all combinations and returns when all of them are finished
+	 * SimSettings must be initialized by the caller
+	 */
+	public void run() {
+		SimSettings SS = SimSettings.getInstance();
+		final ThreadLocal<ClassLoader> contexts = new ThreadLocal<ClassLoader>() {
+			@Override
+			protected ClassLoader initialValue() {
+				return createIsolatedClassLoader();
+			}
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(numOfThreads);
+		List<Future<Void>> results = new ArrayList<Future<Void>>();
+
+		for(int j=SS.getMinNumOfMobileDev(); j<=SS.getMaxNumOfMobileDev(); j+=SS.getMobileDevCounterSize())
+		{
+			for(int k=0; k<SS.getSimulationScenarios().length; k++)
+			{
+				for(int i=0; i<SS.getOrchestratorPolicies().length; i++)
+				{
+					final int numOfMobileDevices = j;
+					final String simScenario = SS.getSimulationScenarios()[k];
+					final String orchestratorPolicy = SS.getOrchestratorPolicies()[i];
+
+					results.add(executor.submit(new Callable<Void>() {
+						@Override
+						public Void call() throws Exception {
+							if(scenarioRunnerClassName != null) {
+								Class<?> runnerClass = Class.forName(scenarioRunnerClassName, true, contexts.get());
+								Method runScenario = runnerClass.getMethod("runScenario",
+										String.class, String.class, String.class, String.class,
+										int.class, int.class, String.class, String.class);
+								runScenario.invoke(null, configFile, edgeDevicesFile, applicationsFile, outputFolder,
+										iterationNumber, numOfMobileDevices, simScenario, orchestratorPolicy);
+								return null;
+							}
+
+							Class<?> isolatedClass = Class.forName(ScenarioSweepExecutor.class.getName(), true, contexts.get());
+							Method runScenario = isolatedClass.getMethod("runScenario",
+									String.class, String.class, String.class, String.class, String.class,
+									int.class, int.class, String.class, String.class);
+							runScenario.invoke(null, scenarioFactoryClassName,
+									configFile, edgeDevicesFile, applicationsFile, outputFolder,
+									iterationNumber, numOfMobileDevices, simScenario, orchestratorPolicy);
+							return null;
+						}
+					}));
+				}//End of orchestrators loop
+			}//End of scenarios loop
+		}//End of mobile devices loop
+
+		try {
+			for(Future<Void> result : results)
+				result.get();
+		}
+		catch (Exception e) {
+			SimLogger.printLine("The simulation has been terminated due to an unexpected error");
+			e.printStackTrace();
+			System.exit(0);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * initializes the logger and the settings of the calling class loader
+	 * returns true only for the first call in each isolated context
+	 */
+	public static boolean initializeContext(String configFile, String edgeDevicesFile,
+			String applicationsFile, int iterationNumber) {
+		if(contextInitialized)
+			return false;
+
+		//disable console output of cloudsim library
+		Log.disable();
+
+		//enable console output and file output of this application
+		SimLogger.enablePrintLog();
+
+		if(SimSettings.getInstance().initialize(configFile, edgeDevicesFile, applicationsFile) == false){
+			SimLogger.printLine("cannot initialize simulation settings!");
+			System.exit(0);
+		}
+		SimRandom.setMasterSeed(SimSettings.getInstance().getRandomSeed() + iterationNumber);
+
+		//output folder is cleaned by the main application
+		if(SimSettings.getInstance().getFileLoggingEnabled())
+			SimLogger.enableFileLog();
+
+		contextInitialized = true;
+		return true;
+	}
+
+	/**
+	 * runs a single scenario in the context of the calling class loader
+	 * this method is called via reflection by the worker threads
+	 */
+	public static void runScenario(String scenarioFactoryClassName,
+			String configFile, String edgeDevicesFile, String applicationsFile,
+			String outputFolder, int iterationNumber,
+			int numOfMobileDevices, String simScenario, String orchestratorPolicy) throws Exception {
+		initializeContext(configFile, edgeDevicesFile, applicationsFile, iterationNumber);
+
+		SimSettings SS = SimSettings.getInstance();
+		DateFormat df = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+		Date ScenarioStartDate = Calendar.getInstance().getTime();
+		String now = df.format(ScenarioStartDate);
+
+		SimLogger.printLine("Scenario started at " + now);
+		SimLogger.printLine("Scenario: " + simScenario + " - Policy: " + orchestratorPolicy + " - #iteration: " + iterationNumber + " - #devices: " + numOfMobileDevices);
+		SimLogger.getInstance().simStarted(outputFolder,"SIMRESULT_" + simScenario + "_"  + orchestratorPolicy + "_" + numOfMobileDevices + "DEVICES");
+
+		// Initialize the CloudSim library
+		int num_user = 2;   // number of grid users
+		Calendar calendar = Calendar.getInstance();
+		boolean trace_flag = false;  // mean trace events
+		CloudSim.init(num_user, calendar, trace_flag, 0.01);
+
+		// Generate EdgeCloudsim Scenario Factory
+		Constructor<?> constructor = Class.forName(scenarioFactoryClassName).getDeclaredConstructor(
+				int.class, double.class, String.class, String.class);
+		constructor.setAccessible(true);
+		ScenarioFactory scenarioFactory = (ScenarioFactory)constructor.newInstance(
+				numOfMobileDevices, SS.getSimulationTime(), orchestratorPolicy, simScenario);
+
+		// Generate EdgeCloudSim Simulation Manager
+		SimManager manager = new SimManager(scenarioFactory, numOfMobileDevices, simScenario, orchestratorPolicy);
+
+		// Start simulation
+		manager.startSimulation();
+
+		Date ScenarioEndDate = Calendar.getInstance().getTime();
+		now = df.format(ScenarioEndDate);
+		SimLogger.printLine("Scenario: " + simScenario + " - Policy: " + orchestratorPolicy + " - #devices: " + numOfMobileDevices +
+				" finished at " + now +  ". It took " + SimUtils.getTimeDifference(ScenarioStartDate,ScenarioEndDate));
+	}
+
+	private static ClassLoader createIsolatedClassLoader() {
+		String[] paths = System.getProperty("java.class.path").split(File.pathSeparator);
+		URL[] urls = new URL[paths.length];
+		try {
+			for(int i=0; i<paths.length; i++)
+				urls[i] = new File(paths[i]).toURI().toURL();
+		}
+		catch (MalformedURLException e) {
+			SimLogger.printLine("Class path cannot be resolved! Terminating simulation...");
+			e.printStackTrace();
+			System.exit(1);
+		}
+
+		//parent of the system class loader does not know the application classes
+		return new URLClassLoader(urls, ClassLoader.getSystemClassLoader().getParent());
+	}
+}
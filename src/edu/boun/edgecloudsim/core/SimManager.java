@@ -31,6 +31,7 @@ import edu.boun.edgecloudsim.task_generator.LoadGeneratorModel;
 import edu.boun.edgecloudsim.network.NetworkModel;
 import edu.boun.edgecloudsim.utils.TaskProperty;
 import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimRandom;
 
 public class SimManager extends SimEntity {
 	private static final int CREATE_TASK = 0;
@@ -38,6 +39,8 @@ public class SimManager extends SimEntity {
 	private static final int GET_LOAD_LOG = 2;
 	private static final int PRINT_PROGRESS = 3;
 	private static final int STOP_SIMULATION = 4;
+	private static final int GET_LOCATION_LOG = 5;
+	private static final int LOCATION_CHANGED = 6;
 	
 	private String simScenario;
 	private String orchestratorPolicy;
@@ -51,6 +54,13 @@ public class SimManager extends SimEntity {
 	private MobileServerManager mobileServerManager;
 	private LoadGeneratorModel loadGeneratorModel;
 	private MobileDeviceManager mobileDeviceManager;
+
+	//the location log of the t-th interval is recorded at t * interval
+	private int locationLogCounter;
+	private int[] locationLogCounts;
+
+	//time of the scheduled location change of each device
+	private double[] nextLocationChangeTimes;
 	
 	private static SimManager instance = null;
 	
@@ -61,6 +71,9 @@ public class SimManager extends SimEntity {
 		numOfMobileDevice = _numOfMobileDevice;
 		orchestratorPolicy = _orchestratorPolicy;
 
+		//each scenario starts with the same random number sequence
+		SimRandom.reset();
+
 		SimLogger.print("Creating tasks...");
 		loadGeneratorModel = scenarioFactory.getLoadGeneratorModel();
 		loadGeneratorModel.initializeModel();
@@ -78,6 +91,14 @@ public class SimManager extends SimEntity {
 		//Generate edge orchestrator
 		edgeOrchestrator = scenarioFactory.getEdgeOrchestrator();
 		edgeOrchestrator.initialize();
+
+		//components keeping per access point state can listen the handover events
+		if(mobilityModel.isHandoverEventSupported()) {
+			if(networkModel instanceof MobilityModel.HandoverListener)
+				mobilityModel.addHandoverListener((MobilityModel.HandoverListener)networkModel);
+			if(edgeOrchestrator instanceof MobilityModel.HandoverListener)
+				mobilityModel.addHandoverListener((MobilityModel.HandoverListener)edgeOrchestrator);
+		}
 		
 		//Create Physical Servers
 		edgeServerManager = scenarioFactory.getEdgeServerManager();
@@ -194,14 +215,41 @@ public class SimManager extends SimEntity {
 		}
 		
 		//Creation of tasks are scheduled here!
-		for(int i=0; i< loadGeneratorModel.getTaskList().size(); i++)
-			schedule(getId(), loadGeneratorModel.getTaskList().get(i).getStartTime(), CREATE_TASK, loadGeneratorModel.getTaskList().get(i));
+		if(loadGeneratorModel.isStreamingEnabled()) {
+			//only the first task of each device is scheduled, the next one
+			//is scheduled when the previous task is created
+			for(int i=0; i<numOfMobileDevice; i++) {
+				TaskProperty task = loadGeneratorModel.getNextTask(i);
+				if(task != null)
+					schedule(getId(), task.getStartTime(), CREATE_TASK, task);
+			}
+		}
+		else {
+			for(int i=0; i< loadGeneratorModel.getTaskList().size(); i++)
+				schedule(getId(), loadGeneratorModel.getTaskList().get(i).getStartTime(), CREATE_TASK, loadGeneratorModel.getTaskList().get(i));
+		}
 		
 		//Periodic event loops starts from here!
 		schedule(getId(), 5, CHECK_ALL_VM);
 		schedule(getId(), SimSettings.getInstance().getSimulationTime()/100, PRINT_PROGRESS);
 		schedule(getId(), SimSettings.getInstance().getVmLoadLogInterval(), GET_LOAD_LOG);
 		schedule(getId(), SimSettings.getInstance().getSimulationTime(), STOP_SIMULATION);
+
+		//location changes are scheduled only if someone listens the handover events
+		if(mobilityModel.isHandoverEventSupported() && mobilityModel.hasHandoverListeners()) {
+			nextLocationChangeTimes = new double[numOfMobileDevice];
+			for(int i=0; i<numOfMobileDevice; i++)
+				scheduleNextLocationChange(i, Double.NEGATIVE_INFINITY);
+		}
+
+		//location logs are needed only if file logging is enabled
+		double locationLogInterval = SimSettings.getInstance().getLocationLogInterval();
+		if(SimLogger.isFileLogEnabled() && locationLogInterval != 0 &&
+				1 < SimSettings.getInstance().getSimulationTime() / locationLogInterval) {
+			locationLogCounter = 1;
+			locationLogCounts = new int[SimSettings.getInstance().getNumOfEdgeDatacenters()];
+			schedule(getId(), locationLogInterval, GET_LOCATION_LOG);
+		}
 		
 		SimLogger.printLine("Done.");
 	}
@@ -213,7 +261,13 @@ public class SimManager extends SimEntity {
 			case CREATE_TASK:
 				try {
 					TaskProperty edgeTask = (TaskProperty) ev.getData();
-					mobileDeviceManager.submitTask(edgeTask);						
+					mobileDeviceManager.submitTask(edgeTask);
+					
+					if(loadGeneratorModel.isStreamingEnabled()) {
+						TaskProperty nextTask = loadGeneratorModel.getNextTask(edgeTask.getMobileDeviceId());
+						if(nextTask != null)
+							schedule(getId(), nextTask.getStartTime() - CloudSim.clock(), CREATE_TASK, nextTask);
+					}
 				} catch (Exception e) {
 					e.printStackTrace();
 					System.exit(1);
@@ -235,6 +289,24 @@ public class SimManager extends SimEntity {
 				
 				schedule(getId(), SimSettings.getInstance().getVmLoadLogInterval(), GET_LOAD_LOG);
 				break;
+			case GET_LOCATION_LOG:
+				double locationLogInterval = SimSettings.getInstance().getLocationLogInterval();
+				double time = locationLogCounter * locationLogInterval;
+				if(time >= SimSettings.CLIENT_ACTIVITY_START_TIME) {
+					mobilityModel.getDeviceCounts(time, locationLogCounts);
+					SimLogger.getInstance().addLocationLog(time, locationLogCounts);
+				}
+
+				locationLogCounter++;
+				if(locationLogCounter < SimSettings.getInstance().getSimulationTime() / locationLogInterval)
+					schedule(getId(), locationLogCounter * locationLogInterval - CloudSim.clock(), GET_LOCATION_LOG);
+				break;
+			case LOCATION_CHANGED:
+				int deviceId = (Integer) ev.getData();
+				double changeTime = nextLocationChangeTimes[deviceId];
+				mobilityModel.publishLocationChange(deviceId, changeTime);
+				scheduleNextLocationChange(deviceId, changeTime);
+				break;
 			case PRINT_PROGRESS:
 				int progress = (int)((CloudSim.clock()*100)/SimSettings.getInstance().getSimulationTime());
 				if(progress % 10 == 0)
@@ -262,6 +334,16 @@ public class SimManager extends SimEntity {
 		}
 	}
 
+	private void scheduleNextLocationChange(int deviceId, double time) {
+		double nextTime = mobilityModel.getNextLocationChangeTime(deviceId, time);
+		if(nextTime < 0 || nextTime >= SimSettings.getInstance().getSimulationTime())
+			return;
+
+		//the exact time is kept, the clock may slightly differ due to rounding
+		nextLocationChangeTimes[deviceId] = nextTime;
+		schedule(getId(), Math.max(0, nextTime - CloudSim.clock()), LOCATION_CHANGED, deviceId);
+	}
+
 	@Override
 	public void shutdownEntity() {
 		edgeServerManager.terminateDatacenters();
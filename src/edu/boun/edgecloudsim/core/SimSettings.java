@@ -28,10 +28,12 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimRandom;
 
 public class SimSettings {
 	private static SimSettings instance = null;
 	private Document edgeDevicesDoc = null;
+	private EdgeTopology edgeTopology = null;
 
 	public static final double CLIENT_ACTIVITY_START_TIME = 10;
 
@@ -57,6 +59,13 @@ public class SimSettings {
 	private double INTERVAL_TO_GET_AP_DELAY_LOG; //minutes unit in properties file
 	private boolean FILE_LOG_ENABLED; //boolean to check file logging option
 	private boolean DEEP_FILE_LOG_ENABLED; //boolean to check deep file logging option
+	private boolean DEEP_FILE_LOG_BINARY; //boolean to check binary deep file logging option
+	private boolean DEEP_FILE_LOG_COMPRESSED; //boolean to check compression of binary deep log files
+	private boolean ASYNC_FILE_LOG_ENABLED; //boolean to check asynchronous file logging option
+	private boolean TASK_STREAMING_ENABLED; //boolean to check on demand task generation option
+	private int NUM_OF_SWEEP_THREADS; //number of scenarios executed in parallel
+	private int NUM_OF_TASK_GENERATOR_THREADS; //number of threads generating the tasks of the devices
+	private long RANDOM_SEED; //master seed of the random number streams
 
 	private int MIN_NUM_OF_MOBILE_DEVICES;
 	private int MAX_NUM_OF_MOBILE_DEVICES;
@@ -96,6 +105,10 @@ public class SimSettings {
 	private double SOUTHERN_BOUND;
 	private double WESTERN_BOUND;
 
+	private boolean FUZZY_LOOKUP_TABLE_ENABLED; //boolean to check lookup table option of the fuzzy orchestrator
+	private int FUZZY_LOOKUP_TABLE_RESOLUTION; //number of grid intervals between two membership function breakpoints
+	private boolean FUZZY_LOOKUP_TABLE_VALIDATION; //boolean to check comparing the lookup tables with the exact FIS
+
 	// mean waiting time (minute) is stored for each place types
 	private double[] mobilityLookUpTable;
 
@@ -150,6 +163,14 @@ public class SimSettings {
 			INTERVAL_TO_GET_AP_DELAY_LOG = (double)60 * Double.parseDouble(prop.getProperty("ap_delay_check_interval", "0")); //seconds		
 			FILE_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("file_log_enabled"));
 			DEEP_FILE_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("deep_file_log_enabled"));
+			DEEP_FILE_LOG_BINARY = Boolean.parseBoolean(prop.getProperty("deep_file_log_binary", "false"));
+			DEEP_FILE_LOG_COMPRESSED = Boolean.parseBoolean(prop.getProperty("deep_file_log_compressed", "false"));
+			ASYNC_FILE_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("async_file_log_enabled", "false"));
+			TASK_STREAMING_ENABLED = Boolean.parseBoolean(prop.getProperty("task_streaming_enabled", "false"));
+			NUM_OF_SWEEP_THREADS = Integer.parseInt(prop.getProperty("number_of_sweep_threads", "1"));
+			NUM_OF_TASK_GENERATOR_THREADS = Integer.parseInt(prop.getProperty("number_of_task_generator_threads", "1"));
+			RANDOM_SEED = Long.parseLong(prop.getProperty("random_seed", Long.toString(System.currentTimeMillis())));
+			SimRandom.setMasterSeed(RANDOM_SEED);
 
 			MIN_NUM_OF_MOBILE_DEVICES = Integer.parseInt(prop.getProperty("min_number_of_mobile_devices"));
 			MAX_NUM_OF_MOBILE_DEVICES = Integer.parseInt(prop.getProperty("max_number_of_mobile_devices"));
@@ -185,6 +206,10 @@ public class SimSettings {
 			EASTERN_BOUND = Double.parseDouble(prop.getProperty("eastern_bound", "0"));
 			WESTERN_BOUND = Double.parseDouble(prop.getProperty("western_bound", "0"));
 
+			FUZZY_LOOKUP_TABLE_ENABLED = Boolean.parseBoolean(prop.getProperty("fuzzy_lookup_table_enabled", "false"));
+			FUZZY_LOOKUP_TABLE_RESOLUTION = Integer.parseInt(prop.getProperty("fuzzy_lookup_table_resolution", "2"));
+			FUZZY_LOOKUP_TABLE_VALIDATION = Boolean.parseBoolean(prop.getProperty("fuzzy_lookup_table_validation", "false"));
+
 			//avg waiting time in a place (min)
 			double place1_mean_waiting_time = Double.parseDouble(prop.getProperty("attractiveness_L1_mean_waiting_time"));
 			double place2_mean_waiting_time = Double.parseDouble(prop.getProperty("attractiveness_L2_mean_waiting_time"));
@@ -223,6 +248,13 @@ public class SimSettings {
 		return edgeDevicesDoc;
 	}
 
+	/**
+	 * returns the edge datacenters, hosts and VMs parsed from edge_devices.xml
+	 */
+	public EdgeTopology getEdgeTopology(){
+		return edgeTopology;
+	}
+
 
 	/**
 	 * returns simulation time (in seconds unit) from properties file
@@ -272,6 +304,32 @@ public class SimSettings {
 		return FILE_LOG_ENABLED && DEEP_FILE_LOG_ENABLED; 
 	}
 
+	/**
+	 * returns binary deep file logging option from properties file
+	 * if it is enabled, the task results are saved via DeepLogWriter
+	 */
+	public boolean getDeepFileLogBinary()
+	{
+		return DEEP_FILE_LOG_BINARY;
+	}
+
+	/**
+	 * returns compression option of the binary deep log files from properties file
+	 */
+	public boolean getDeepFileLogCompressed()
+	{
+		return DEEP_FILE_LOG_COMPRESSED;
+	}
+
+	/**
+	 * returns asynchronous file logging option from properties file
+	 * if it is enabled, the log files are written by a background thread
+	 */
+	public boolean getAsyncFileLogEnabled()
+	{
+		return ASYNC_FILE_LOG_ENABLED;
+	}
+
 	/**
 	 * returns deep statistics logging status from properties file
 	 */
@@ -280,6 +338,42 @@ public class SimSettings {
 		return FILE_LOG_ENABLED; 
 	}
 
+	/**
+	 * returns on demand task generation status from properties file
+	 * if it is enabled, only the next task of each device is kept in the memory
+	 */
+	public boolean getTaskStreamingEnabled()
+	{
+		return TASK_STREAMING_ENABLED;
+	}
+
+	/**
+	 * returns the number of scenarios to be executed in parallel from properties file
+	 * the scenarios are executed one after another if it is 1
+	 */
+	public int getNumOfSweepThreads()
+	{
+		return NUM_OF_SWEEP_THREADS;
+	}
+
+	/**
+	 * returns the number of threads used while generating the task list from properties file
+	 * the generated task list does not depend on this value
+	 */
+	public int getNumOfTaskGeneratorThreads()
+	{
+		return NUM_OF_TASK_GENERATOR_THREADS;
+	}
+
+	/**
+	 * returns the master seed of the random number streams from properties file
+	 * current time is used if it is not provided, so the runs are not reproducible
+	 */
+	public long getRandomSeed()
+	{
+		return RANDOM_SEED;
+	}
+
 	/**
 	 * returns WAN propagation delay (in second unit) from properties file
 	 */
@@ -522,6 +616,33 @@ public class SimSettings {
 		return WESTERN_BOUND;
 	}
 
+	/**
+	 * returns true if the fuzzy orchestrator uses precomputed lookup tables
+	 * instead of evaluating the fuzzy inference systems for each task
+	 */
+	public boolean getFuzzyLookupTableEnabled()
+	{
+		return FUZZY_LOOKUP_TABLE_ENABLED;
+	}
+
+	/**
+	 * returns the number of grid intervals between two consecutive
+	 * membership function breakpoints of the fuzzy lookup tables
+	 */
+	public int getFuzzyLookupTableResolution()
+	{
+		return FUZZY_LOOKUP_TABLE_RESOLUTION;
+	}
+
+	/**
+	 * returns true if the fuzzy inference systems are also evaluated to
+	 * report the error of the lookup tables
+	 */
+	public boolean getFuzzyLookupTableValidation()
+	{
+		return FUZZY_LOOKUP_TABLE_VALIDATION;
+	}
+
 	/**
 	 * returns mobility characteristic within an array
 	 * the result includes mean waiting time (minute) or each place type
@@ -729,6 +850,7 @@ public class SimSettings {
 				}
 			}
 
+			edgeTopology = new EdgeTopology(edgeDevicesDoc);
 		} catch (Exception e) {
 			SimLogger.printLine("Edge Devices XML cannot be parsed! Terminating simulation...");
 			e.printStackTrace();
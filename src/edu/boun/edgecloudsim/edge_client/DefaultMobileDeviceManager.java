@@ -19,7 +19,6 @@ import org.cloudbus.cloudsim.UtilizationModel;
 import org.cloudbus.cloudsim.UtilizationModelFull;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEvent;
 
 import edu.boun.edgecloudsim.core.SimManager;
@@ -254,11 +253,10 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 			task.setAssociatedVmId(selectedVM.getId());
 			
 			//bind task to related VM
-			getCloudletList().add(task);
-			bindCloudletToVm(task.getCloudletId(),selectedVM.getId());
+			bindTaskToVm(task, selectedVM);
 			
 			//SimLogger.printLine(CloudSim.clock() + ": Cloudlet#" + task.getCloudletId() + " is submitted to VM#" + task.getVmId());
-			schedule(getVmsToDatacentersMap().get(task.getVmId()), delay, CloudSimTags.CLOUDLET_SUBMIT, task);
+			submitTaskToBoundVm(task, delay);
 
 			SimLogger.getInstance().taskAssigned(task.getCloudletId(),
 					selectedVM.getHost().getDatacenter().getId(),
@@ -2,6 +2,8 @@ package edu.boun.edgecloudsim.edge_client;
 
 import org.cloudbus.cloudsim.DatacenterBroker;
 import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSimTags;
 
 import edu.boun.edgecloudsim.utils.TaskProperty;
 
@@ -22,4 +24,22 @@ public abstract class MobileDeviceManager  extends DatacenterBroker {
 	public abstract UtilizationModel getCpuUtilizationModel();
 	
 	public abstract void submitTask(TaskProperty edgeTask);
+
+	/*
+	 * binds the task to the given VM without adding it to the cloudlet list
+	 * of the broker; bindCloudletToVm() searches the task in that list, which
+	 * is never cleared, so its cost grows with the number of tasks
+	 */
+	protected void bindTaskToVm(Task task, Vm vm) {
+		task.setVmId(vm.getId());
+	}
+
+	/*
+	 * submits the task to the datacenter of the VM which it is bound to
+	 * the broker keeps no reference to the task, so it can be garbage
+	 * collected after it is returned and processed
+	 */
+	protected void submitTaskToBoundVm(Task task, double delay) {
+		schedule(getVmsToDatacentersMap().get(task.getVmId()), delay, CloudSimTags.CLOUDLET_SUBMIT, task);
+	}
 }
@@ -12,6 +12,7 @@
 
 package edu.boun.edgecloudsim.edge_orchestrator;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Host;
@@ -26,12 +27,21 @@ import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
 import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.RandomStream;
+import edu.boun.edgecloudsim.utils.SimRandom;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	private int numberOfHost; //used by load balancer
 	private int lastSelectedHostIndex; //used by load balancer
 	private int[] lastSelectedVmIndexes; //used by each host individually
+	private RandomStream rng;
+	
+	//capacity indexes are created when the VMs are ready
+	private boolean capacityIndexesCreated;
+	private VmCapacityIndex<EdgeVM> edgeVmIndex; //used by load balancer
+	private List<VmCapacityIndex<EdgeVM>> hostVmIndexes; //used by each host individually
+	private VmCapacityIndex<CloudVM> cloudVmIndex;
 	
 	public BasicEdgeOrchestrator(String _policy, String _simScenario) {
 		super(_policy, _simScenario);
@@ -42,9 +52,61 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 		numberOfHost=SimSettings.getInstance().getNumOfEdgeHosts();
 		
 		lastSelectedHostIndex = -1;
+		rng = SimRandom.getStream("orchestrator");
 		lastSelectedVmIndexes = new int[numberOfHost];
 		for(int i=0; i<numberOfHost; i++)
 			lastSelectedVmIndexes[i] = -1;
+		
+		capacityIndexesCreated = false;
+	}
+	
+	/**
+	 * creates the capacity indexes if all VMs use CloudletSchedulerTimeShared_Custom
+	 * otherwise the VMs are scanned one by one as usual
+	 * edge indexes are created only for the policies using them, whereas
+	 * the cloud index is used by all policies (least loaded cloud VM)
+	 */
+	private void createCapacityIndexes(){
+		if(isIndexedPolicy()){
+			List<EdgeVM> edgeVms = new ArrayList<EdgeVM>();
+			for(int hostIndex=0; hostIndex<numberOfHost; hostIndex++)
+				edgeVms.addAll(SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex));
+			
+			if(VmCapacityIndex.isIndexable(edgeVms)){
+				edgeVmIndex = new VmCapacityIndex<EdgeVM>(edgeVms);
+				hostVmIndexes = new ArrayList<VmCapacityIndex<EdgeVM>>();
+				for(int hostIndex=0; hostIndex<numberOfHost; hostIndex++)
+					hostVmIndexes.add(new VmCapacityIndex<EdgeVM>(SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex)));
+			}
+		}
+		
+		List<CloudVM> cloudVms = new ArrayList<CloudVM>();
+		int numOfCloudHosts = SimManager.getInstance().getCloudServerManager().getDatacenter().getHostList().size();
+		for(int hostIndex=0; hostIndex<numOfCloudHosts; hostIndex++)
+			cloudVms.addAll(SimManager.getInstance().getCloudServerManager().getVmList(hostIndex));
+		
+		if(VmCapacityIndex.isIndexable(cloudVms))
+			cloudVmIndex = new VmCapacityIndex<CloudVM>(cloudVms);
+		
+		capacityIndexesCreated = true;
+	}
+	
+	private boolean isIndexedPolicy(){
+		return policy.equalsIgnoreCase("WORST_FIT") ||
+				policy.equalsIgnoreCase("BEST_FIT") ||
+				policy.equalsIgnoreCase("FIRST_FIT");
+	}
+	
+	private EdgeVM selectVmOnIndex(Task task, VmCapacityIndex<EdgeVM> index){
+		//all edge VMs have the same type, so the required capacity is the same for each VM
+		double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(SimSettings.VM_TYPES.EDGE_VM);
+		
+		if(policy.equalsIgnoreCase("WORST_FIT"))
+			return index.getWorstFit(requiredCapacity);
+		else if(policy.equalsIgnoreCase("BEST_FIT"))
+			return index.getBestFit(requiredCapacity);
+		else
+			return index.getFirstFit(requiredCapacity);
 	}
 
 	@Override
@@ -52,7 +114,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 		int result = SimSettings.GENERIC_EDGE_DEVICE_ID;
 		if(!simScenario.equals("SINGLE_TIER")){
 			//decide to use cloud or Edge VM
-			int CloudVmPicker = SimUtils.getRandomNumber(0, 100);
+			int CloudVmPicker = SimUtils.getRandomNumber(rng, 0, 100);
 			
 			if(CloudVmPicker <= SimSettings.getInstance().getTaskLookUpTable()[task.getTaskType()][1])
 				result = SimSettings.CLOUD_DATACENTER_ID;
@@ -67,7 +129,15 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	public Vm getVmToOffload(Task task, int deviceId) {
 		Vm selectedVM = null;
 		
-		if(deviceId == SimSettings.CLOUD_DATACENTER_ID){
+		if(!capacityIndexesCreated)
+			createCapacityIndexes();
+		
+		if(deviceId == SimSettings.CLOUD_DATACENTER_ID && cloudVmIndex != null){
+			//Least Loaded algorithm is equal to the worst fit
+			double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(SimSettings.VM_TYPES.CLOUD_VM);
+			selectedVM = cloudVmIndex.getWorstFit(requiredCapacity);
+		}
+		else if(deviceId == SimSettings.CLOUD_DATACENTER_ID){
 			//Select VM on cloud devices via Least Loaded algorithm!
 			double selectedVmCapacity = 0; //start with min value
 			List<Host> list = SimManager.getInstance().getCloudServerManager().getDatacenter().getHostList();
@@ -100,8 +170,11 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 		int relatedHostId=deviceLocation.getServingWlanId();
 		List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(relatedHostId);
 		
-		if(policy.equalsIgnoreCase("RANDOM_FIT")){
-			int randomIndex = SimUtils.getRandomNumber(0, vmArray.size()-1);
+		if(hostVmIndexes != null && isIndexedPolicy()){
+			selectedVM = selectVmOnIndex(task, hostVmIndexes.get(relatedHostId));
+		}
+		else if(policy.equalsIgnoreCase("RANDOM_FIT")){
+			int randomIndex = SimUtils.getRandomNumber(rng, 0, vmArray.size()-1);
 			double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(randomIndex).getVmType());
 			double targetVmCapacity = (double)100 - vmArray.get(randomIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
 			if(requiredCapacity <= targetVmCapacity)
@@ -159,10 +232,13 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	public EdgeVM selectVmOnLoadBalancer(Task task){
 		EdgeVM selectedVM = null;
 		
-		if(policy.equalsIgnoreCase("RANDOM_FIT")){
-			int randomHostIndex = SimUtils.getRandomNumber(0, numberOfHost-1);
+		if(edgeVmIndex != null && isIndexedPolicy()){
+			selectedVM = selectVmOnIndex(task, edgeVmIndex);
+		}
+		else if(policy.equalsIgnoreCase("RANDOM_FIT")){
+			int randomHostIndex = SimUtils.getRandomNumber(rng, 0, numberOfHost-1);
 			List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(randomHostIndex);
-			int randomIndex = SimUtils.getRandomNumber(0, vmArray.size()-1);
+			int randomIndex = SimUtils.getRandomNumber(rng, 0, vmArray.size()-1);
 			
 			double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(randomIndex).getVmType());
 			double targetVmCapacity = (double)100 - vmArray.get(randomIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
@@ -208,6 +284,8 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 						break;
 					}
 				}
+				if(selectedVM != null)
+					break;
 			}
 		}
 		else if(policy.equalsIgnoreCase("NEXT_FIT")){
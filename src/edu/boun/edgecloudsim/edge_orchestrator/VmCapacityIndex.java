@@ -0,0 +1,151 @@
+/*
+ * Title:        EdgeCloudSim - VM Capacity Index
+ *
+ * Description:
+ * VmCapacityIndex keeps the residual CPU capacity (100 - utilization)
+ * of a group of VMs which use CloudletSchedulerTimeShared_Custom.
+ * The index is updated by the schedulers when the cloudlets are
+ * submitted or returned, so that the first/best/worst fit decisions
+ * can be given in O(log V) time instead of visiting all VMs.
+ *
+ * A segment tree keeping the maximum residual capacity is used for
+ * the first and worst fit queries, and a sorted set is used for the
+ * best fit queries. The VMs are compared in the given order while
+ * breaking the ties, so the result is the same with a linear scan.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_orchestrator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.cloudbus.cloudsim.Vm;
+
+import edu.boun.edgecloudsim.edge_server.CloudletSchedulerTimeShared_Custom;
+
+public class VmCapacityIndex<T extends Vm> implements CloudletSchedulerTimeShared_Custom.UtilizationListener {
+	private static final int PROBE_KEY = -1;
+
+	private List<T> vmList;
+	private double[] residualCapacities;
+	private Integer[] keys;
+
+	//maximum residual capacity of the related range is kept in each node
+	private int numOfLeaves;
+	private double[] maxTree;
+
+	//VMs sorted by residual capacity and then by their order in the list
+	private TreeSet<Integer> sortedVms;
+	private double probeCapacity;
+
+	/**
+	 * the VMs must use CloudletSchedulerTimeShared_Custom,
+	 * call isIndexable() before creating the index
+	 */
+	public VmCapacityIndex(List<T> _vmList) {
+		vmList = _vmList;
+		int numOfVms = vmList.size();
+
+		residualCapacities = new double[numOfVms];
+		keys = new Integer[numOfVms];
+
+		numOfLeaves = 1;
+		while(numOfLeaves < numOfVms)
+			numOfLeaves *= 2;
+		maxTree = new double[2 * numOfLeaves];
+		for(int i=0; i<maxTree.length; i++)
+			maxTree[i] = Double.NEGATIVE_INFINITY;
+
+		sortedVms = new TreeSet<Integer>(new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				double c1 = (o1 == PROBE_KEY) ? probeCapacity : residualCapacities[o1];
+				double c2 = (o2 == PROBE_KEY) ? probeCapacity : residualCapacities[o2];
+				int result = Double.compare(c1, c2);
+				if(result == 0)
+					result = Integer.compare(o1, o2);
+				return result;
+			}
+		});
+
+		for(int i=0; i<numOfVms; i++) {
+			CloudletSchedulerTimeShared_Custom scheduler = (CloudletSchedulerTimeShared_Custom)vmList.get(i).getCloudletScheduler();
+			keys[i] = Integer.valueOf(i);
+			residualCapacities[i] = (double)100 - scheduler.getCurrentUtilization();
+			maxTree[numOfLeaves + i] = residualCapacities[i];
+			sortedVms.add(keys[i]);
+			scheduler.addUtilizationListener(this, i);
+		}
+
+		for(int node=numOfLeaves-1; node>0; node--)
+			maxTree[node] = Math.max(maxTree[2*node], maxTree[2*node+1]);
+	}
+
+	/**
+	 * checks if all VMs in the list can be indexed
+	 */
+	public static boolean isIndexable(List<? extends Vm> vmList) {
+		for(Vm vm : vmList)
+			if(!(vm.getCloudletScheduler() instanceof CloudletSchedulerTimeShared_Custom))
+				return false;
+		return true;
+	}
+
+	@Override
+	public void utilizationChanged(int key, double utilization) {
+		sortedVms.remove(keys[key]);
+		residualCapacities[key] = (double)100 - utilization;
+		sortedVms.add(keys[key]);
+
+		int node = numOfLeaves + key;
+		maxTree[node] = residualCapacities[key];
+		for(node /= 2; node > 0; node /= 2)
+			maxTree[node] = Math.max(maxTree[2*node], maxTree[2*node+1]);
+	}
+
+	public double getResidualCapacity(int index) {
+		return residualCapacities[index];
+	}
+
+	/**
+	 * returns the first VM in the list having enough capacity, null if there is no such VM
+	 */
+	public T getFirstFit(double requiredCapacity) {
+		if(vmList.isEmpty() || maxTree[1] < requiredCapacity)
+			return null;
+
+		int node = 1;
+		while(node < numOfLeaves)
+			node = (maxTree[2*node] >= requiredCapacity) ? 2*node : 2*node+1;
+
+		return vmList.get(node - numOfLeaves);
+	}
+
+	/**
+	 * returns the VM having the largest residual capacity if it is enough, null otherwise
+	 */
+	public T getWorstFit(double requiredCapacity) {
+		//a VM having no residual capacity is never selected by worst fit
+		if(vmList.isEmpty() || maxTree[1] < requiredCapacity || maxTree[1] <= 0)
+			return null;
+
+		int node = 1;
+		while(node < numOfLeaves)
+			node = (maxTree[2*node] == maxTree[node]) ? 2*node : 2*node+1;
+
+		return vmList.get(node - numOfLeaves);
+	}
+
+	/**
+	 * returns the VM having the smallest sufficient residual capacity, null if there is no such VM
+	 */
+	public T getBestFit(double requiredCapacity) {
+		probeCapacity = requiredCapacity;
+		Integer result = sortedVms.ceiling(PROBE_KEY);
+		return (result == null) ? null : vmList.get(result);
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Title:        EdgeCloudSim - Custom Time Shared Cloudlet Scheduler
+ *
+ * Description:
+ * CloudletSchedulerTimeShared_Custom keeps the total CPU utilization of
+ * the VM up to date and notifies the registered listeners when it changes.
+ * The utilization is recalculated only when a cloudlet is submitted,
+ * finished, canceled, paused or resumed; therefore the utilization models
+ * of the cloudlets are expected to return constant values in time, which
+ * is the case for CpuUtilizationModel_Custom.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+public class CloudletSchedulerTimeShared_Custom extends CloudletSchedulerTimeShared {
+	public interface UtilizationListener {
+		/**
+		 * called when the total CPU utilization of the VM is changed
+		 *
+		 * @param key the key given while registering the listener
+		 * @param utilization new CPU utilization of the VM
+		 */
+		void utilizationChanged(int key, double utilization);
+	}
+
+	private double currentUtilization;
+	private List<UtilizationListener> listeners;
+	private List<Integer> listenerKeys;
+
+	public CloudletSchedulerTimeShared_Custom() {
+		super();
+		currentUtilization = 0;
+		listeners = new ArrayList<UtilizationListener>();
+		listenerKeys = new ArrayList<Integer>();
+	}
+
+	/**
+	 * registers a listener which is notified with the given key
+	 * whenever the total CPU utilization of the VM changes
+	 */
+	public void addUtilizationListener(UtilizationListener listener, int key) {
+		listeners.add(listener);
+		listenerKeys.add(key);
+	}
+
+	/**
+	 * returns the same value with getTotalUtilizationOfCpu(CloudSim.clock())
+	 * without iterating over the running cloudlets
+	 */
+	public double getCurrentUtilization() {
+		return currentUtilization;
+	}
+
+	@Override
+	public double updateVmProcessing(double currentTime, List<Double> mipsShare) {
+		double result = super.updateVmProcessing(currentTime, mipsShare);
+		updateUtilization();
+		return result;
+	}
+
+	@Override
+	public double cloudletSubmit(Cloudlet cloudlet, double fileTransferTime) {
+		double result = super.cloudletSubmit(cloudlet, fileTransferTime);
+		updateUtilization();
+		return result;
+	}
+
+	@Override
+	public Cloudlet cloudletCancel(int cloudletId) {
+		Cloudlet result = super.cloudletCancel(cloudletId);
+		updateUtilization();
+		return result;
+	}
+
+	@Override
+	public boolean cloudletPause(int cloudletId) {
+		boolean result = super.cloudletPause(cloudletId);
+		updateUtilization();
+		return result;
+	}
+
+	@Override
+	public double cloudletResume(int cloudletId) {
+		double result = super.cloudletResume(cloudletId);
+		updateUtilization();
+		return result;
+	}
+
+	private void updateUtilization() {
+		//finished cloudlets are removed from the execution list after
+		//cloudletFinish() is called, so the sum is recalculated here
+		double utilization = getTotalUtilizationOfCpu(CloudSim.clock());
+		if(utilization == currentUtilization)
+			return;
+
+		currentUtilization = utilization;
+		for(int i=0; i<listeners.size(); i++)
+			listeners.get(i).utilizationChanged(listenerKeys.get(i), utilization);
+	}
+}
@@ -16,7 +16,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Host;
@@ -28,17 +27,14 @@ import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
+import edu.boun.edgecloudsim.core.EdgeTopology;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
-import edu.boun.edgecloudsim.utils.Location;
 
 public class DefaultEdgeServerManager extends EdgeServerManager{
 	private int hostIdCounter;
+	private VmUtilizationAggregate utilizationAggregate;
 
 	public DefaultEdgeServerManager() {
 		hostIdCounter = 0;
@@ -54,12 +50,9 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 	}
 	
 	public void startDatacenters() throws Exception{
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			localDatacenters.add(createDatacenter(i, datacenterElement));
+		EdgeTopology topology = SimSettings.getInstance().getEdgeTopology();
+		for (int i = 0; i < topology.getNumOfDatacenters(); i++) {
+			localDatacenters.add(createDatacenter(i, topology.getDatacenter(i)));
 		}
 	}
 
@@ -68,32 +61,20 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 		int vmCounter=0;
 		
 		//Create VMs for each hosts
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-			for (int j = 0; j < hostNodeList.getLength(); j++) {
+		EdgeTopology topology = SimSettings.getInstance().getEdgeTopology();
+		for (int i = 0; i < topology.getNumOfDatacenters(); i++) {
+			EdgeTopology.DatacenterInfo datacenterInfo = topology.getDatacenter(i);
+			for (int j = 0; j < datacenterInfo.getNumOfHosts(); j++) {
 				
 				vmList.add(hostCounter, new ArrayList<EdgeVM>());
 				
-				Node hostNode = hostNodeList.item(j);
-				Element hostElement = (Element) hostNode;
-				NodeList vmNodeList = hostElement.getElementsByTagName("VM");
-				for (int k = 0; k < vmNodeList.getLength(); k++) {
-					Node vmNode = vmNodeList.item(k);					
-					Element vmElement = (Element) vmNode;
-
-					String vmm = vmElement.getAttribute("vmm");
-					int numOfCores = Integer.parseInt(vmElement.getElementsByTagName("core").item(0).getTextContent());
-					double mips = Double.parseDouble(vmElement.getElementsByTagName("mips").item(0).getTextContent());
-					int ram = Integer.parseInt(vmElement.getElementsByTagName("ram").item(0).getTextContent());
-					long storage = Long.parseLong(vmElement.getElementsByTagName("storage").item(0).getTextContent());
-					long bandwidth = SimSettings.getInstance().getWlanBandwidth() / (hostNodeList.getLength()+vmNodeList.getLength());
+				EdgeTopology.HostInfo hostInfo = datacenterInfo.getHost(j);
+				for (int k = 0; k < hostInfo.getNumOfVms(); k++) {
+					EdgeTopology.VmInfo vmInfo = hostInfo.getVm(k);
+					long bandwidth = SimSettings.getInstance().getWlanBandwidth() / (datacenterInfo.getNumOfHosts()+hostInfo.getNumOfVms());
 					
 					//VM Parameters		
-					EdgeVM vm = new EdgeVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared());
+					EdgeVM vm = new EdgeVM(vmCounter, brokerId, vmInfo.getMips(), vmInfo.getNumOfCores(), vmInfo.getRam(), bandwidth, vmInfo.getStorage(), vmInfo.getVmm(), new CloudletSchedulerTimeShared_Custom());
 					vmList.get(hostCounter).add(vm);
 					vmCounter++;
 				}
@@ -101,6 +82,10 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 				hostCounter++;
 			}
 		}
+
+		//utilization of the VMs is tracked while the cloudlets are submitted and finished
+		if(VmUtilizationAggregate.isAggregatable(vmList))
+			utilizationAggregate = new VmUtilizationAggregate(vmList);
 	}
 	
 	public void terminateDatacenters(){
@@ -111,6 +96,22 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 
 	//average utilization of all VMs
 	public double getAvgUtilization(){
+		if(utilizationAggregate == null)
+			return calculateAvgUtilization();
+
+		//the aggregate is checked against the full scan if assertions are enabled
+		assert Math.abs(utilizationAggregate.getAvgUtilization() - calculateAvgUtilization()) < 1e-6;
+		return utilizationAggregate.getAvgUtilization();
+	}
+
+	@Override
+	public double getAvgUtilization(int hostId){
+		if(utilizationAggregate == null)
+			return super.getAvgUtilization(hostId);
+		return utilizationAggregate.getAvgUtilization(hostId);
+	}
+
+	private double calculateAvgUtilization(){
 		double totalUtilization = 0;
 		double vmCounter = 0;
 		
@@ -131,16 +132,16 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 		return totalUtilization / vmCounter;
 	}
 
-	private Datacenter createDatacenter(int index, Element datacenterElement) throws Exception{
-		String arch = datacenterElement.getAttribute("arch");
-		String os = datacenterElement.getAttribute("os");
-		String vmm = datacenterElement.getAttribute("vmm");
-		double costPerBw = Double.parseDouble(datacenterElement.getElementsByTagName("costPerBw").item(0).getTextContent());
-		double costPerSec = Double.parseDouble(datacenterElement.getElementsByTagName("costPerSec").item(0).getTextContent());
-		double costPerMem = Double.parseDouble(datacenterElement.getElementsByTagName("costPerMem").item(0).getTextContent());
-		double costPerStorage = Double.parseDouble(datacenterElement.getElementsByTagName("costPerStorage").item(0).getTextContent());
+	private Datacenter createDatacenter(int index, EdgeTopology.DatacenterInfo datacenterInfo) throws Exception{
+		String arch = datacenterInfo.getArch();
+		String os = datacenterInfo.getOs();
+		String vmm = datacenterInfo.getVmm();
+		double costPerBw = datacenterInfo.getCostPerBw();
+		double costPerSec = datacenterInfo.getCostPerSec();
+		double costPerMem = datacenterInfo.getCostPerMem();
+		double costPerStorage = datacenterInfo.getCostPerStorage();
 		
-		List<EdgeHost> hostList=createHosts(datacenterElement);
+		List<EdgeHost> hostList=createHosts(datacenterInfo);
 		
 		String name = "Datacenter_" + Integer.toString(index);
 		double time_zone = 3.0;         // time zone this resource located
@@ -163,29 +164,19 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 		return datacenter;
 	}
 	
-	private List<EdgeHost> createHosts(Element datacenterElement){
+	private List<EdgeHost> createHosts(EdgeTopology.DatacenterInfo datacenterInfo){
 
 		// Here are the steps needed to create a PowerDatacenter:
 		// 1. We need to create a list to store one or more Machines
 		List<EdgeHost> hostList = new ArrayList<EdgeHost>();
 		
-		Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-		String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-		int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-		int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
-		int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
-		int placeTypeIndex = Integer.parseInt(attractiveness);
-
-		NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-		for (int j = 0; j < hostNodeList.getLength(); j++) {
-			Node hostNode = hostNodeList.item(j);
-			
-			Element hostElement = (Element) hostNode;
-			int numOfCores = Integer.parseInt(hostElement.getElementsByTagName("core").item(0).getTextContent());
-			double mips = Double.parseDouble(hostElement.getElementsByTagName("mips").item(0).getTextContent());
-			int ram = Integer.parseInt(hostElement.getElementsByTagName("ram").item(0).getTextContent());
-			long storage = Long.parseLong(hostElement.getElementsByTagName("storage").item(0).getTextContent());
-			long bandwidth = SimSettings.getInstance().getWlanBandwidth() / hostNodeList.getLength();
+		for (int j = 0; j < datacenterInfo.getNumOfHosts(); j++) {
+			EdgeTopology.HostInfo hostInfo = datacenterInfo.getHost(j);
+			int numOfCores = hostInfo.getNumOfCores();
+			double mips = hostInfo.getMips();
+			int ram = hostInfo.getRam();
+			long storage = hostInfo.getStorage();
+			long bandwidth = SimSettings.getInstance().getWlanBandwidth() / datacenterInfo.getNumOfHosts();
 			
 			// 2. A Machine contains one or more PEs or CPUs/Cores. Therefore, should
 			//    create a list to store these PEs before creating
@@ -208,7 +199,7 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 					new VmSchedulerSpaceShared(peList)
 				);
 			
-			host.setPlace(new Location(placeTypeIndex, wlan_id, x_pos, y_pos));
+			host.setPlace(datacenterInfo.getLocation());
 			hostList.add(host);
 			hostIdCounter++;
 		}
@@ -22,6 +22,7 @@ import java.util.List;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
+import org.cloudbus.cloudsim.core.CloudSim;
 
 public abstract class EdgeServerManager {
 	protected List<Datacenter> localDatacenters;
@@ -68,4 +69,16 @@ public abstract class EdgeServerManager {
 	 * returns average utilization of all VMs
 	 */
 	public abstract double getAvgUtilization();
+
+	/*
+	 * returns average utilization of the VMs on the given host
+	 * server managers keeping utilization aggregates should override it
+	 */
+	public double getAvgUtilization(int hostId) {
+		List<EdgeVM> vmArray = getVmList(hostId);
+		double totalUtilization = 0;
+		for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++)
+			totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+		return totalUtilization / (double)vmArray.size();
+	}
 }
\ No newline at end of file
@@ -22,11 +22,8 @@ import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
+import edu.boun.edgecloudsim.core.EdgeTopology;
 import edu.boun.edgecloudsim.core.SimSettings;
 
 /*
@@ -51,37 +48,11 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 		boolean result = false;
 		
 		if (!getVmTable().containsKey(vm.getUid()) && vm instanceof EdgeVM) { // if this vm was not created
-			boolean vmFound = false;
-			int vmCounter = 0;
-			int hostIndex = 0;
-			int dataCenterIndex = 0;
-			
 			//find proper datacenter id and host id for this VM
-			Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-			NodeList datacenterList = doc.getElementsByTagName("datacenter");
-			for (int i = 0; (!vmFound && i < datacenterList.getLength()); i++) {
-				Node datacenterNode = datacenterList.item(i);
-				Element datacenterElement = (Element) datacenterNode;
-				NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-				for (int j = 0; (!vmFound  && j < hostNodeList.getLength()); j++) {
-					Node hostNode = hostNodeList.item(j);
-					Element hostElement = (Element) hostNode;
-					NodeList vmNodeList = hostElement.getElementsByTagName("VM");
-					for (int k = 0; (!vmFound && k < vmNodeList.getLength()); k++) {
-
-						if(vmCounter == vm.getId()){
-							dataCenterIndex = i;
-							hostIndex = j;
-							vmFound = true;
-						}
-
-						vmCounter++;
-					}
-				}
-			}
+			EdgeTopology.VmInfo vmInfo = SimSettings.getInstance().getEdgeTopology().getVm(vm.getId());
 
-			if(vmFound && dataCenterIndex == DataCenterIndex && hostIndex < getHostList().size()){
-				Host host = getHostList().get(hostIndex);
+			if(vmInfo != null && vmInfo.getDatacenterIndex() == DataCenterIndex && vmInfo.getHostIndex() < getHostList().size()){
+				Host host = getHostList().get(vmInfo.getHostIndex());
 				result = host.vmCreate(vm);
 	
 				if (result) { // if vm were successfully created in the host
@@ -0,0 +1,109 @@
+/*
+ * Title:        EdgeCloudSim - VM Utilization Aggregate
+ *
+ * Description:
+ * VmUtilizationAggregate keeps the total CPU utilization of the VMs on
+ * each host and on all hosts for the VMs which use
+ * CloudletSchedulerTimeShared_Custom. The totals are updated by the
+ * schedulers when the cloudlets are submitted or finished, so that the
+ * average utilization can be read in constant time instead of visiting
+ * all VMs and their cloudlets.
+ *
+ * The total of a host is recalculated from its VMs in the same order
+ * with a linear scan. The overall total is updated by the differences;
+ * it is reset to zero whenever all VMs become idle, so that the rounding
+ * errors do not accumulate.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_server;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.Vm;
+
+public class VmUtilizationAggregate implements CloudletSchedulerTimeShared_Custom.UtilizationListener {
+	private double[] vmUtilizations; //VMs are numbered in the host order
+	private int[] hostIndices; //host index of each VM
+	private int[] firstVmIndices; //index of the first VM of each host, one more entry for the end
+
+	private double[] hostTotals;
+	private double total;
+	private int numOfBusyVms;
+
+	/**
+	 * the VMs must use CloudletSchedulerTimeShared_Custom,
+	 * call isAggregatable() before creating the aggregate
+	 *
+	 * @param vmLists VM list of each host, the list index is the host index
+	 */
+	public VmUtilizationAggregate(List<? extends List<? extends Vm>> vmLists) {
+		int numOfVms = 0;
+		for(List<? extends Vm> vmArray : vmLists)
+			numOfVms += vmArray.size();
+
+		vmUtilizations = new double[numOfVms];
+		hostIndices = new int[numOfVms];
+		firstVmIndices = new int[vmLists.size() + 1];
+		hostTotals = new double[vmLists.size()];
+
+		int vmIndex = 0;
+		for(int hostIndex=0; hostIndex<vmLists.size(); hostIndex++) {
+			firstVmIndices[hostIndex] = vmIndex;
+			for(Vm vm : vmLists.get(hostIndex)) {
+				CloudletSchedulerTimeShared_Custom scheduler = (CloudletSchedulerTimeShared_Custom)vm.getCloudletScheduler();
+				hostIndices[vmIndex] = hostIndex;
+				scheduler.addUtilizationListener(this, vmIndex);
+				utilizationChanged(vmIndex, scheduler.getCurrentUtilization());
+				vmIndex++;
+			}
+		}
+		firstVmIndices[vmLists.size()] = vmIndex;
+	}
+
+	/**
+	 * checks if all VMs in the lists can be aggregated
+	 */
+	public static boolean isAggregatable(List<? extends List<? extends Vm>> vmLists) {
+		for(List<? extends Vm> vmArray : vmLists)
+			for(Vm vm : vmArray)
+				if(!(vm.getCloudletScheduler() instanceof CloudletSchedulerTimeShared_Custom))
+					return false;
+		return true;
+	}
+
+	@Override
+	public void utilizationChanged(int key, double utilization) {
+		double previousUtilization = vmUtilizations[key];
+		vmUtilizations[key] = utilization;
+
+		if(previousUtilization == 0)
+			numOfBusyVms++;
+		if(utilization == 0)
+			numOfBusyVms--;
+
+		total = (numOfBusyVms == 0) ? 0 : total + (utilization - previousUtilization);
+
+		int hostIndex = hostIndices[key];
+		double hostTotal = 0;
+		for(int i=firstVmIndices[hostIndex]; i<firstVmIndices[hostIndex+1]; i++)
+			hostTotal += vmUtilizations[i];
+		hostTotals[hostIndex] = hostTotal;
+	}
+
+	/**
+	 * returns the average utilization of all VMs
+	 */
+	public double getAvgUtilization() {
+		return total / (double)vmUtilizations.length;
+	}
+
+	/**
+	 * returns the average utilization of the VMs on the given host
+	 */
+	public double getAvgUtilization(int hostIndex) {
+		return hostTotals[hostIndex] / (double)(firstVmIndices[hostIndex+1] - firstVmIndices[hostIndex]);
+	}
+}
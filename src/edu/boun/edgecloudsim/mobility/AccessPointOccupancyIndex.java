@@ -0,0 +1,157 @@
+/*
+ * Title:        EdgeCloudSim - Access Point Occupancy Index
+ *
+ * Description:
+ * AccessPointOccupancyIndex keeps the number of devices connected to
+ * each WLAN access point as a step function of the simulation time.
+ * Mobility models record the arrival and departure of the devices while
+ * calculating their locations, and the index answers the device count
+ * queries without visiting all mobile devices.
+ *
+ * The queries are mostly issued in increasing time order, so a cursor
+ * is kept for each access point; binary search is used only when the
+ * requested time is before the cursor.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.mobility;
+
+import java.util.Arrays;
+
+public class AccessPointOccupancyIndex {
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int numOfAccessPoints;
+
+	//arrival and departure times of the devices, used while building the index
+	private double[][] arrivalTimes;
+	private double[][] departureTimes;
+	private int[] numOfArrivals;
+	private int[] numOfDepartures;
+
+	//device count is equal to deviceCounts[i] in [changeTimes[i], changeTimes[i+1])
+	private double[][] changeTimes;
+	private int[][] deviceCounts;
+	private int[] cursors;
+
+	public AccessPointOccupancyIndex(int _numOfAccessPoints) {
+		numOfAccessPoints = _numOfAccessPoints;
+		arrivalTimes = new double[numOfAccessPoints][INITIAL_CAPACITY];
+		departureTimes = new double[numOfAccessPoints][INITIAL_CAPACITY];
+		numOfArrivals = new int[numOfAccessPoints];
+		numOfDepartures = new int[numOfAccessPoints];
+	}
+
+	/**
+	 * records that a device is connected to the given access point at the given time
+	 */
+	public void deviceArrived(int wlanId, double time) {
+		if(numOfArrivals[wlanId] == arrivalTimes[wlanId].length)
+			arrivalTimes[wlanId] = Arrays.copyOf(arrivalTimes[wlanId], arrivalTimes[wlanId].length * 2);
+
+		arrivalTimes[wlanId][numOfArrivals[wlanId]++] = time;
+	}
+
+	/**
+	 * records that a device is disconnected from the given access point at the given time
+	 */
+	public void deviceLeft(int wlanId, double time) {
+		if(numOfDepartures[wlanId] == departureTimes[wlanId].length)
+			departureTimes[wlanId] = Arrays.copyOf(departureTimes[wlanId], departureTimes[wlanId].length * 2);
+
+		departureTimes[wlanId][numOfDepartures[wlanId]++] = time;
+	}
+
+	/**
+	 * records the handover of a device from one access point to another
+	 */
+	public void deviceMoved(int fromWlanId, int toWlanId, double time) {
+		deviceLeft(fromWlanId, time);
+		deviceArrived(toWlanId, time);
+	}
+
+	/**
+	 * converts the recorded arrivals and departures to the step functions
+	 * this method should be called once after all movements are recorded
+	 */
+	public void build() {
+		changeTimes = new double[numOfAccessPoints][];
+		deviceCounts = new int[numOfAccessPoints][];
+		cursors = new int[numOfAccessPoints];
+
+		for(int ap=0; ap<numOfAccessPoints; ap++) {
+			double[] arrivals = Arrays.copyOf(arrivalTimes[ap], numOfArrivals[ap]);
+			double[] departures = Arrays.copyOf(departureTimes[ap], numOfDepartures[ap]);
+			Arrays.sort(arrivals);
+			Arrays.sort(departures);
+
+			double[] times = new double[arrivals.length + departures.length + 1];
+			int[] counts = new int[times.length];
+
+			//no device is connected before the first arrival
+			times[0] = Double.NEGATIVE_INFINITY;
+			counts[0] = 0;
+
+			int numOfSteps = 1;
+			int a = 0, d = 0, count = 0;
+			while(a < arrivals.length || d < departures.length) {
+				double time;
+				if(d == departures.length || (a < arrivals.length && arrivals[a] <= departures[d]))
+					time = arrivals[a];
+				else
+					time = departures[d];
+
+				//apply all the changes occurring at the same time together
+				while(a < arrivals.length && arrivals[a] == time) {
+					count++;
+					a++;
+				}
+				while(d < departures.length && departures[d] == time) {
+					count--;
+					d++;
+				}
+
+				times[numOfSteps] = time;
+				counts[numOfSteps] = count;
+				numOfSteps++;
+			}
+
+			changeTimes[ap] = Arrays.copyOf(times, numOfSteps);
+			deviceCounts[ap] = Arrays.copyOf(counts, numOfSteps);
+		}
+
+		//recorded movements are not needed anymore
+		arrivalTimes = null;
+		departureTimes = null;
+		numOfArrivals = null;
+		numOfDepartures = null;
+	}
+
+	/**
+	 * returns the number of devices connected to the given access point at a certain time
+	 */
+	public int getDeviceCount(int wlanId, double time) {
+		double[] times = changeTimes[wlanId];
+		int cursor = cursors[wlanId];
+
+		if(times[cursor] <= time) {
+			//move forward, it is expected to take a few steps in most cases
+			while(cursor + 1 < times.length && times[cursor + 1] <= time)
+				cursor++;
+		}
+		else {
+			//change times are unique, so the search result points the exact step
+			int index = Arrays.binarySearch(times, 0, cursor, time);
+			cursor = (index >= 0) ? index : -index - 2;
+		}
+
+		cursors[wlanId] = cursor;
+		return deviceCounts[wlanId][cursor];
+	}
+
+	public int getNumOfAccessPoints() {
+		return numOfAccessPoints;
+	}
+}
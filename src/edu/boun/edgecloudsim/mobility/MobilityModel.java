@@ -6,6 +6,11 @@
  * location of each mobile devices with respect to the time. For those who
  * wants to add a custom Mobility Model to EdgeCloudSim should extend
  * this class and provide a concrete instance via ScenarioFactory
+ * 
+ * Mobility models which can tell the next location change time of the
+ * devices support handover events. In this case, SimManager schedules
+ * the location changes as simulation events, and the registered
+ * listeners are notified when a device changes its serving access point.
  *               
  * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
  * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
@@ -13,11 +18,31 @@
 
 package edu.boun.edgecloudsim.mobility;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import edu.boun.edgecloudsim.utils.Location;
 
 public abstract class MobilityModel {
+	public interface HandoverListener {
+		/**
+		 * called when a device connects to a WLAN access point for the
+		 * first time or changes its serving WLAN access point
+		 *
+		 * @param deviceId id of the mobile device
+		 * @param previousLocation null if the device was not connected before
+		 * @param newLocation location of the device after the handover
+		 * @param time simulation time of the handover
+		 */
+		void handoverOccurred(int deviceId, Location previousLocation, Location newLocation, double time);
+	}
+
 	protected int numberOfMobileDevices;
 	protected double simulationTime;
+
+	private List<HandoverListener> handoverListeners = new ArrayList<HandoverListener>();
+	private Location[] servingLocations; //last published location of each device
 	
 	public MobilityModel(int _numberOfMobileDevices, double _simulationTime){
 		numberOfMobileDevices=_numberOfMobileDevices;
@@ -39,4 +64,82 @@ public abstract class MobilityModel {
 	 * returns location of a device at a certain time
 	 */
 	public abstract Location getLocation(int deviceId, double time);
+
+	/*
+	 * returns the serving WLAN id of a device at a certain time
+	 * mobility models creating a new Location on each getLocation() call
+	 * should override it to avoid the allocation
+	 */
+	public int getServingWlanId(int deviceId, double time) {
+		return getLocation(deviceId, time).getServingWlanId();
+	}
+
+	/*
+	 * returns the number of devices connected to the given WLAN access point
+	 * at a certain time. Default implementation checks the location of each
+	 * device; mobility models keeping an occupancy index should override it
+	 */
+	public int getDeviceCount(int wlanId, double time) {
+		int deviceCount = 0;
+		for(int i=0; i<numberOfMobileDevices; i++) {
+			if(getServingWlanId(i, time) == wlanId)
+				deviceCount++;
+		}
+		return deviceCount;
+	}
+
+	/*
+	 * fills the number of devices connected to each WLAN access point
+	 * at a certain time. Array index is the serving WLAN id
+	 * the previous content of the array is overwritten
+	 */
+	public void getDeviceCounts(double time, int[] deviceCounts) {
+		Arrays.fill(deviceCounts, 0);
+		for(int i=0; i<numberOfMobileDevices; i++)
+			deviceCounts[getServingWlanId(i, time)]++;
+	}
+
+	/*
+	 * returns the first time after the given time when the serving WLAN
+	 * access point of the device changes, or a negative value if it does
+	 * not change anymore
+	 * mobility models supporting handover events should override it
+	 */
+	public double getNextLocationChangeTime(int deviceId, double time) {
+		return -1;
+	}
+
+	/*
+	 * returns true if getNextLocationChangeTime() is implemented
+	 */
+	public boolean isHandoverEventSupported() {
+		return false;
+	}
+
+	public void addHandoverListener(HandoverListener listener) {
+		handoverListeners.add(listener);
+	}
+
+	public boolean hasHandoverListeners() {
+		return !handoverListeners.isEmpty();
+	}
+
+	/*
+	 * called by SimManager at the location change times of the device
+	 * the listeners are notified only if the serving access point changes
+	 */
+	public void publishLocationChange(int deviceId, double time) {
+		if(servingLocations == null)
+			servingLocations = new Location[numberOfMobileDevices];
+
+		Location previousLocation = servingLocations[deviceId];
+		Location newLocation = getLocation(deviceId, time);
+		servingLocations[deviceId] = newLocation;
+
+		if(previousLocation != null && previousLocation.getServingWlanId() == newLocation.getServingWlanId())
+			return;
+
+		for(int i=0; i<handoverListeners.size(); i++)
+			handoverListeners.get(i).handoverOccurred(deviceId, previousLocation, newLocation, time);
+	}
 }
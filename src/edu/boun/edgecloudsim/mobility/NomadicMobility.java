@@ -6,30 +6,36 @@
  * place of the devices are changed from time to time instead of a
  * continuous location update.
  * 
+ * The trajectory of each device is kept in primitive arrays; sorted
+ * movement times and the index of the visited place. Places refer to
+ * a shared table of Location objects, one for each edge datacenter,
+ * so no Location object is created per movement.
+ * 
  * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
  * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
  */
 
 package edu.boun.edgecloudsim.mobility;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.TreeMap;
-import java.util.Map.Entry;
+import java.util.Arrays;
 
 import org.apache.commons.math3.distribution.ExponentialDistribution;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
+import edu.boun.edgecloudsim.core.EdgeTopology;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.RandomStream;
 import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimRandom;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 public class NomadicMobility extends MobilityModel {
-	private List<TreeMap<Double, Location>> treeMapArray;
+	private static final int INITIAL_TRAJECTORY_CAPACITY = 8;
+
+	private Location[] places; //location of each edge datacenter
+	private double[][] movementTimes; //sorted movement times of each device
+	private short[][] placeIndices; //visited place of each device after each movement
+	private AccessPointOccupancyIndex occupancyIndex;
 	
 	public NomadicMobility(int _numberOfMobileDevices, double _simulationTime) {
 		super(_numberOfMobileDevices, _simulationTime);
@@ -38,86 +44,113 @@ public class NomadicMobility extends MobilityModel {
 	
 	@Override
 	public void initialize() {
-		treeMapArray = new ArrayList<TreeMap<Double, Location>>();
+		int numOfPlaces = SimSettings.getInstance().getNumOfEdgeDatacenters();
+		if(numOfPlaces > Short.MAX_VALUE){
+			SimLogger.printLine("Number of edge datacenters cannot be greater than " + Short.MAX_VALUE + "! Terminating simulation...");
+			System.exit(1);
+		}
+
+		places = new Location[numOfPlaces];
+		movementTimes = new double[numberOfMobileDevices][];
+		placeIndices = new short[numberOfMobileDevices][];
+		occupancyIndex = new AccessPointOccupancyIndex(numOfPlaces);
 		
-		ExponentialDistribution[] expRngList = new ExponentialDistribution[SimSettings.getInstance().getNumOfEdgeDatacenters()];
+		//each device has its own random number stream, the distributions
+		//draw the numbers from the stream of the related device
+		RandomStream samplingRng = SimRandom.getStream("mobility");
+		ExponentialDistribution[] expRngList = new ExponentialDistribution[numOfPlaces];
 
 		//create random number generator for each place
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-			String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-			int placeTypeIndex = Integer.parseInt(attractiveness);
-			
-			expRngList[i] = new ExponentialDistribution(SimSettings.getInstance().getMobilityLookUpTable()[placeTypeIndex]);
+		EdgeTopology topology = SimSettings.getInstance().getEdgeTopology();
+		for (int i = 0; i < numOfPlaces; i++) {
+			places[i] = topology.getDatacenter(i).getLocation();
+			expRngList[i] = new ExponentialDistribution(samplingRng, SimSettings.getInstance().getMobilityLookUpTable()[places[i].getPlaceTypeIndex()]);
 		}
 		
-		//initialize tree maps and position of mobile devices
 		for(int i=0; i<numberOfMobileDevices; i++) {
-			treeMapArray.add(i, new TreeMap<Double, Location>());
+			double[] times = new double[INITIAL_TRAJECTORY_CAPACITY];
+			short[] indices = new short[INITIAL_TRAJECTORY_CAPACITY];
+			RandomStream deviceRng = SimRandom.getStream("mobility", i);
+			samplingRng.attach(deviceRng);
 			
-			int randDatacenterId = SimUtils.getRandomNumber(0, SimSettings.getInstance().getNumOfEdgeDatacenters()-1);
-			Node datacenterNode = datacenterList.item(randDatacenterId);
-			Element datacenterElement = (Element) datacenterNode;
-			Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-			String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-			int placeTypeIndex = Integer.parseInt(attractiveness);
-			int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-			int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
-			int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
-
 			//start locating user shortly after the simulation started (e.g. 10 seconds)
-			treeMapArray.get(i).put(SimSettings.CLIENT_ACTIVITY_START_TIME, new Location(placeTypeIndex, wlan_id, x_pos, y_pos));
-		}
-		
-		for(int i=0; i<numberOfMobileDevices; i++) {
-			TreeMap<Double, Location> treeMap = treeMapArray.get(i);
+			int currentPlaceIndex = SimUtils.getRandomNumber(deviceRng, 0, numOfPlaces-1);
+			times[0] = SimSettings.CLIENT_ACTIVITY_START_TIME;
+			indices[0] = (short)currentPlaceIndex;
+			occupancyIndex.deviceArrived(places[currentPlaceIndex].getServingWlanId(), times[0]);
+			int numOfMovements = 1;
 
-			while(treeMap.lastKey() < SimSettings.getInstance().getSimulationTime()) {				
-				boolean placeFound = false;
-				int currentLocationId = treeMap.lastEntry().getValue().getServingWlanId();
-				double waitingTime = expRngList[currentLocationId].sample();
+			while(times[numOfMovements-1] < SimSettings.getInstance().getSimulationTime()) {
+				double waitingTime = expRngList[currentPlaceIndex].sample();
 				
-				while(placeFound == false){
-					int newDatacenterId = SimUtils.getRandomNumber(0,SimSettings.getInstance().getNumOfEdgeDatacenters()-1);
-					if(newDatacenterId != currentLocationId){
-						placeFound = true;
-						Node datacenterNode = datacenterList.item(newDatacenterId);
-						Element datacenterElement = (Element) datacenterNode;
-						Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-						String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-						int placeTypeIndex = Integer.parseInt(attractiveness);
-						int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-						int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
-						int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
-						
-						treeMap.put(treeMap.lastKey()+waitingTime, new Location(placeTypeIndex, wlan_id, x_pos, y_pos));
-					}
-				}
-				if(!placeFound){
-					SimLogger.printLine("impossible is occurred! location cannot be assigned to the device!");
-					System.exit(1);
+				int newPlaceIndex = currentPlaceIndex;
+				while(newPlaceIndex == currentPlaceIndex)
+					newPlaceIndex = SimUtils.getRandomNumber(deviceRng, 0, numOfPlaces-1);
+				
+				if(numOfMovements == times.length){
+					times = Arrays.copyOf(times, times.length * 2);
+					indices = Arrays.copyOf(indices, indices.length * 2);
 				}
+				
+				times[numOfMovements] = times[numOfMovements-1] + waitingTime;
+				indices[numOfMovements] = (short)newPlaceIndex;
+				occupancyIndex.deviceMoved(places[currentPlaceIndex].getServingWlanId(),
+						places[newPlaceIndex].getServingWlanId(),
+						times[numOfMovements]);
+				
+				currentPlaceIndex = newPlaceIndex;
+				numOfMovements++;
 			}
+			
+			movementTimes[i] = Arrays.copyOf(times, numOfMovements);
+			placeIndices[i] = Arrays.copyOf(indices, numOfMovements);
 		}
 
+		occupancyIndex.build();
 	}
 
 	@Override
 	public Location getLocation(int deviceId, double time) {
-		TreeMap<Double, Location> treeMap = treeMapArray.get(deviceId);
+		double[] times = movementTimes[deviceId];
 		
-		Entry<Double, Location> e = treeMap.floorEntry(time);
+		//find the last movement which is not after the given time
+		int index = Arrays.binarySearch(times, time);
+		if(index < 0)
+			index = -index - 2;
 	    
-	    if(e == null){
+	    if(index < 0){
 	    	SimLogger.printLine("impossible is occurred! no location is found for the device '" + deviceId + "' at " + time);
 	    	System.exit(1);
 	    }
 	    
-		return e.getValue();
+		return places[placeIndices[deviceId][index]];
+	}
+
+	@Override
+	public double getNextLocationChangeTime(int deviceId, double time) {
+		double[] times = movementTimes[deviceId];
+
+		//find the first movement which is after the given time
+		int index = Arrays.binarySearch(times, time);
+		index = (index < 0) ? -index - 1 : index + 1;
+
+		return (index < times.length) ? times[index] : -1;
+	}
+
+	@Override
+	public boolean isHandoverEventSupported() {
+		return true;
+	}
+
+	@Override
+	public int getDeviceCount(int wlanId, double time) {
+		return occupancyIndex.getDeviceCount(wlanId, time);
+	}
+
+	@Override
+	public void getDeviceCounts(double time, int[] deviceCounts) {
+		for(int i=0; i<deviceCounts.length; i++)
+			deviceCounts[i] = occupancyIndex.getDeviceCount(i, time);
 	}
 
 }
@@ -14,17 +14,24 @@ import org.cloudbus.cloudsim.core.CloudSim;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
 import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.edge_server.EdgeHost;
+import edu.boun.edgecloudsim.mobility.MobilityModel;
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.SimLogger;
 
-public class MM1Queue extends NetworkModel {
+public class MM1Queue extends NetworkModel implements MobilityModel.HandoverListener {
 	private double WlanPoissonMean; //seconds
 	private double WanPoissonMean; //seconds
 	private double avgTaskInputSize; //bytes
 	private double avgTaskOutputSize; //bytes
 	private int maxNumOfClientsInPlace;
 
+	//current number of devices at each access point, kept only if
+	//the mobility model publishes the handover events
+	private int[] deviceCounts;
+
 	public MM1Queue(int _numberOfMobileDevices, String _simScenario) {
 		super(_numberOfMobileDevices, _simScenario);
 	}
@@ -37,6 +44,7 @@ public class MM1Queue extends NetworkModel {
 		avgTaskInputSize=0;
 		avgTaskOutputSize=0;
 		maxNumOfClientsInPlace=0;
+		deviceCounts=null;
 
 		//Calculate interarrival time and task sizes
 		double numOfTaskType = 0;
@@ -72,19 +80,19 @@ public class MM1Queue extends NetworkModel {
 
 		//mobile device to cloud server
 		if(destDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			double wlanDelay = getWlanUploadDelay(accessPointLocation, CloudSim.clock());
-			double wanDelay = getWanUploadDelay(accessPointLocation, CloudSim.clock() + wlanDelay);
+			double wlanDelay = getWlanUploadDelay(accessPointLocation.getServingWlanId(), avgTaskInputSize, CloudSim.clock());
+			double wanDelay = getWanUploadDelay(accessPointLocation.getServingWlanId(), avgTaskInputSize, CloudSim.clock() + wlanDelay);
 			if(wlanDelay > 0 && wanDelay >0)
 				delay = wlanDelay + wanDelay;
 		}
 		//mobile device to edge orchestrator
 		else if(destDeviceId == SimSettings.EDGE_ORCHESTRATOR_ID){
-			delay = getWlanUploadDelay(accessPointLocation, CloudSim.clock()) +
+			delay = getWlanUploadDelay(accessPointLocation.getServingWlanId(), avgTaskInputSize, CloudSim.clock()) +
 					SimSettings.getInstance().getInternalLanDelay();
 		}
 		//mobile device to edge device (wifi access point)
 		else if (destDeviceId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
-			delay = getWlanUploadDelay(accessPointLocation, CloudSim.clock());
+			delay = getWlanUploadDelay(accessPointLocation.getServingWlanId(), avgTaskInputSize, CloudSim.clock());
 		}
 
 		return delay;
@@ -106,14 +114,14 @@ public class MM1Queue extends NetworkModel {
 
 		//cloud server to mobile device
 		if(sourceDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			double wlanDelay = getWlanDownloadDelay(accessPointLocation, CloudSim.clock());
-			double wanDelay = getWanDownloadDelay(accessPointLocation, CloudSim.clock() + wlanDelay);
+			double wlanDelay = getWlanDownloadDelay(accessPointLocation.getServingWlanId(), avgTaskOutputSize, CloudSim.clock());
+			double wanDelay = getWanDownloadDelay(accessPointLocation.getServingWlanId(), avgTaskOutputSize, CloudSim.clock() + wlanDelay);
 			if(wlanDelay > 0 && wanDelay >0)
 				delay = wlanDelay + wanDelay;
 		}
 		//edge device (wifi access point) to mobile device
 		else{
-			delay = getWlanDownloadDelay(accessPointLocation, CloudSim.clock());
+			delay = getWlanDownloadDelay(accessPointLocation.getServingWlanId(), avgTaskOutputSize, CloudSim.clock());
 
 			EdgeHost host = (EdgeHost)(SimManager.
 					getInstance().
@@ -130,18 +138,51 @@ public class MM1Queue extends NetworkModel {
 		return delay;
 	}
 
+	/**
+	 * the given data size is used instead of the average task size of the
+	 * M/M/1 queue model; the delay of a congested link is 0
+	 * MAN delay is the internal LAN delay added for the remote edge servers
+	 */
+	@Override
+	public double estimateDelay(NETWORK_DELAY_TYPES delayType, double dataSize, int accessPointId, boolean forDownload) {
+		double delay = 0;
+
+		if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
+			delay = forDownload ? getWanDownloadDelay(accessPointId, dataSize, CloudSim.clock()) : getWanUploadDelay(accessPointId, dataSize, CloudSim.clock());
+		else if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			delay = forDownload ? getWlanDownloadDelay(accessPointId, dataSize, CloudSim.clock()) : getWlanUploadDelay(accessPointId, dataSize, CloudSim.clock());
+		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
+			delay = SimSettings.getInstance().getInternalLanDelay() * 2;
+		else {
+			SimLogger.printLine("Error - unknown delay type in estimateDelay(). Terminating simulation...");
+			System.exit(1);
+		}
+
+		return (delay < 0) ? 0 : delay;
+	}
+
 	public int getMaxNumOfClientsInPlace(){
 		return maxNumOfClientsInPlace;
 	}
 
-	private int getDeviceCount(Location deviceLocation, double time){
-		int deviceCount = 0;
+	@Override
+	public void handoverOccurred(int deviceId, Location previousLocation, Location newLocation, double time) {
+		if(deviceCounts == null)
+			deviceCounts = new int[SimSettings.getInstance().getNumOfEdgeDatacenters()];
 
-		for(int i=0; i<numberOfMobileDevices; i++) {
-			Location location = SimManager.getInstance().getMobilityModel().getLocation(i,time);
-			if(location.equals(deviceLocation))
-				deviceCount++;
-		}
+		if(previousLocation != null)
+			deviceCounts[previousLocation.getServingWlanId()]--;
+		deviceCounts[newLocation.getServingWlanId()]++;
+	}
+
+	private int getDeviceCount(int accessPointId, double time){
+		int deviceCount;
+		//the mobility model is queried only for the future times
+		if(deviceCounts != null && time == CloudSim.clock())
+			deviceCount = deviceCounts[accessPointId];
+		else
+			deviceCount = SimManager.getInstance().getMobilityModel().
+				getDeviceCount(accessPointId, time);
 
 		//record max number of client just for debugging
 		if(maxNumOfClientsInPlace<deviceCount)
@@ -165,36 +206,36 @@ public class MM1Queue extends NetworkModel {
 		return (result > 5) ? -1 : result;
 	}
 
-	private double getWlanDownloadDelay(Location accessPointLocation, double time) {
+	private double getWlanDownloadDelay(int accessPointId, double dataSize, double time) {
 		return calculateMM1(0,
 				SimSettings.getInstance().getWlanBandwidth(),
 				WlanPoissonMean,
-				avgTaskOutputSize,
-				getDeviceCount(accessPointLocation, time));
+				dataSize,
+				getDeviceCount(accessPointId, time));
 	}
 
-	private double getWlanUploadDelay(Location accessPointLocation, double time) {
+	private double getWlanUploadDelay(int accessPointId, double dataSize, double time) {
 		return calculateMM1(0,
 				SimSettings.getInstance().getWlanBandwidth(),
 				WlanPoissonMean,
-				avgTaskInputSize,
-				getDeviceCount(accessPointLocation, time));
+				dataSize,
+				getDeviceCount(accessPointId, time));
 	}
 
-	private double getWanDownloadDelay(Location accessPointLocation, double time) {
+	private double getWanDownloadDelay(int accessPointId, double dataSize, double time) {
 		return calculateMM1(SimSettings.getInstance().getWanPropagationDelay(),
 				SimSettings.getInstance().getWanBandwidth(),
 				WanPoissonMean,
-				avgTaskOutputSize,
-				getDeviceCount(accessPointLocation, time));
+				dataSize,
+				getDeviceCount(accessPointId, time));
 	}
 
-	private double getWanUploadDelay(Location accessPointLocation, double time) {
+	private double getWanUploadDelay(int accessPointId, double dataSize, double time) {
 		return calculateMM1(SimSettings.getInstance().getWanPropagationDelay(),
 				SimSettings.getInstance().getWanBandwidth(),
 				WanPoissonMean,
-				avgTaskInputSize,
-				getDeviceCount(accessPointLocation, time));
+				dataSize,
+				getDeviceCount(accessPointId, time));
 	}
 
 	@Override
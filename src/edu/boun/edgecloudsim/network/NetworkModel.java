@@ -13,6 +13,7 @@
 
 package edu.boun.edgecloudsim.network;
 
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
 import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.utils.Location;
 
@@ -40,6 +41,25 @@ public abstract class NetworkModel {
 	 */
 	public abstract double getDownloadDelay(int sourceDeviceId, int destDeviceId, Task task);
 
+	/**
+	 * estimates the delay of transferring the given amount of data (in KB)
+	 * over the given link for a mobile device connected to the given access
+	 * point; it is used by the edge orchestrators to probe the network, so
+	 * it does not need a task and it must not change the network statistics
+	 * the delay of a link which cannot be used (congested) is 0
+	 */
+	public abstract double estimateDelay(NETWORK_DELAY_TYPES delayType, double dataSize, int accessPointId, boolean forDownload);
+
+	/**
+	 * estimates the delays of the given links in one call; the delay of
+	 * the link at index i is written to delays[i], so the caller can reuse
+	 * the same array for each task
+	 */
+	public void estimateDelays(NETWORK_DELAY_TYPES[] delayTypes, double dataSize, int accessPointId, boolean forDownload, double[] delays) {
+		for(int i=0; i<delayTypes.length; i++)
+			delays[i] = estimateDelay(delayTypes[i], dataSize, accessPointId, forDownload);
+	}
+
 	/**
 	 * Mobile device manager should inform network manager about the network operation
 	 * This information may be important for some network delay models
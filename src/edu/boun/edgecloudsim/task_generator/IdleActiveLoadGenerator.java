@@ -7,6 +7,15 @@
  * Task interarrival time (load generation period), Idle and active periods
  * are defined in the configuration file.
  * 
+ * If task streaming is enabled in the configuration file, the task list
+ * is not filled at the beginning; the next task of each device is
+ * generated on demand while the simulation is running.
+ * 
+ * Otherwise, the tasks of the devices can be generated in parallel by
+ * a fork/join pool. Since each device has its own random number stream
+ * and the tasks are merged in the order of the devices, the task list
+ * is the same for any number of threads.
+ * 
  * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
  * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
  */
@@ -14,85 +23,230 @@
 package edu.boun.edgecloudsim.task_generator;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.commons.math3.distribution.ExponentialDistribution;
 
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.utils.TaskProperty;
+import edu.boun.edgecloudsim.utils.RandomStream;
 import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimRandom;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 public class IdleActiveLoadGenerator extends LoadGeneratorModel{
 	int taskTypeOfDevices[];
+
+	//generation state of each device, used to produce the next task of the device
+	private double[] activePeriodStartTimes;
+	private double[] virtualTimes;
+
+	//each device has its own random number stream, the distributions
+	//of the samplers draw the numbers from the stream of the related device
+	private RandomStream[] deviceRngs;
+	private TaskSampler sampler;
+
+	/*
+	 * keeps the distributions used while generating the tasks
+	 * a sampler must not be shared by the threads
+	 */
+	private static class TaskSampler {
+		private RandomStream samplingRng;
+		private ExponentialDistribution[] intervalRngList;
+		private ExponentialDistribution[][] expRngList;
+
+		private TaskSampler() {
+			double[][] taskLookUpTable = SimSettings.getInstance().getTaskLookUpTable();
+			samplingRng = SimRandom.getStream("task_generator");
+
+			//exponential number generator for file input size, file output size and task length
+			expRngList = new ExponentialDistribution[taskLookUpTable.length][3];
+
+			//exponential number generator for task interarrival time
+			intervalRngList = new ExponentialDistribution[taskLookUpTable.length];
+
+			//create random number generator for each place
+			for(int i=0; i<taskLookUpTable.length; i++) {
+				if(taskLookUpTable[i][0] ==0)
+					continue;
+
+				expRngList[i][0] = new ExponentialDistribution(samplingRng, taskLookUpTable[i][5]);
+				expRngList[i][1] = new ExponentialDistribution(samplingRng, taskLookUpTable[i][6]);
+				expRngList[i][2] = new ExponentialDistribution(samplingRng, taskLookUpTable[i][7]);
+
+				intervalRngList[i] = new ExponentialDistribution(samplingRng, taskLookUpTable[i][2]);
+			}
+		}
+	}
+
+	/*
+	 * generates the tasks of the devices in the given range,
+	 * the range is divided until it is small enough
+	 */
+	private class DeviceRangeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private int fromDevice;
+		private int toDevice;
+		private int threshold;
+		private List<List<TaskProperty>> tasksOfDevices;
+
+		private DeviceRangeTask(int _fromDevice, int _toDevice, int _threshold, List<List<TaskProperty>> _tasksOfDevices) {
+			fromDevice = _fromDevice;
+			toDevice = _toDevice;
+			threshold = _threshold;
+			tasksOfDevices = _tasksOfDevices;
+		}
+
+		@Override
+		protected void compute() {
+			if(toDevice - fromDevice <= threshold) {
+				TaskSampler localSampler = new TaskSampler();
+				for(int i=fromDevice; i<toDevice; i++) {
+					List<TaskProperty> tasks = new ArrayList<TaskProperty>();
+					initializeDevice(i);
+					addTasksOfDevice(i, localSampler, tasks);
+					tasksOfDevices.set(i, tasks);
+				}
+				return;
+			}
+
+			int middle = (fromDevice + toDevice) >>> 1;
+			invokeAll(new DeviceRangeTask(fromDevice, middle, threshold, tasksOfDevices),
+					new DeviceRangeTask(middle, toDevice, threshold, tasksOfDevices));
+		}
+	}
+
 	public IdleActiveLoadGenerator(int _numberOfMobileDevices, double _simulationTime, String _simScenario) {
 		super(_numberOfMobileDevices, _simulationTime, _simScenario);
 	}
 
 	@Override
 	public void initializeModel() {
-		taskList = new ArrayList<TaskProperty>();
-		
-		//exponential number generator for file input size, file output size and task length
-		ExponentialDistribution[][] expRngList = new ExponentialDistribution[SimSettings.getInstance().getTaskLookUpTable().length][3];
-		
-		//create random number generator for each place
-		for(int i=0; i<SimSettings.getInstance().getTaskLookUpTable().length; i++) {
-			if(SimSettings.getInstance().getTaskLookUpTable()[i][0] ==0)
-				continue;
-			
-			expRngList[i][0] = new ExponentialDistribution(SimSettings.getInstance().getTaskLookUpTable()[i][5]);
-			expRngList[i][1] = new ExponentialDistribution(SimSettings.getInstance().getTaskLookUpTable()[i][6]);
-			expRngList[i][2] = new ExponentialDistribution(SimSettings.getInstance().getTaskLookUpTable()[i][7]);
-		}
-		
+		streamingEnabled = SimSettings.getInstance().getTaskStreamingEnabled();
+		int numOfThreads = SimSettings.getInstance().getNumOfTaskGeneratorThreads();
+		sampler = new TaskSampler();
+
 		//Each mobile device utilizes an app type (task type)
 		taskTypeOfDevices = new int[numberOfMobileDevices];
+		activePeriodStartTimes = new double[numberOfMobileDevices];
+		virtualTimes = new double[numberOfMobileDevices];
+		deviceRngs = new RandomStream[numberOfMobileDevices];
+
+		if(!streamingEnabled && numOfThreads > 1) {
+			generateTasksInParallel(numOfThreads);
+			return;
+		}
+
+		taskList = new ArrayList<TaskProperty>();
 		for(int i=0; i<numberOfMobileDevices; i++) {
-			int randomTaskType = -1;
-			double taskTypeSelector = SimUtils.getRandomDoubleNumber(0,100);
-			double taskTypePercentage = 0;
-			for (int j=0; j<SimSettings.getInstance().getTaskLookUpTable().length; j++) {
-				taskTypePercentage += SimSettings.getInstance().getTaskLookUpTable()[j][0];
-				if(taskTypeSelector <= taskTypePercentage){
-					randomTaskType = j;
-					break;
-				}
+			initializeDevice(i);
+
+			//in streaming mode, tasks are generated while the simulation is running
+			if(!streamingEnabled)
+				addTasksOfDevice(i, sampler, taskList);
+		}
+	}
+
+	private void generateTasksInParallel(int numOfThreads) {
+		//a few ranges for each thread to balance the load of the threads
+		int threshold = Math.max(1, numberOfMobileDevices / (numOfThreads * 4));
+
+		List<List<TaskProperty>> tasksOfDevices = new ArrayList<List<TaskProperty>>(numberOfMobileDevices);
+		for(int i=0; i<numberOfMobileDevices; i++)
+			tasksOfDevices.add(null);
+
+		ForkJoinPool pool = new ForkJoinPool(numOfThreads);
+		try {
+			pool.invoke(new DeviceRangeTask(0, numberOfMobileDevices, threshold, tasksOfDevices));
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		//merge the tasks in the order of the devices as the sequential generation does
+		int numOfTasks = 0;
+		for(List<TaskProperty> tasks : tasksOfDevices)
+			numOfTasks += tasks.size();
+
+		taskList = new ArrayList<TaskProperty>(numOfTasks);
+		for(List<TaskProperty> tasks : tasksOfDevices)
+			taskList.addAll(tasks);
+	}
+
+	/*
+	 * selects the task type and the first active period of the device
+	 * only the entries of the given device are modified
+	 */
+	private void initializeDevice(int deviceId) {
+		deviceRngs[deviceId] = SimRandom.getStream("task_generator", deviceId);
+		int randomTaskType = -1;
+		double taskTypeSelector = SimUtils.getRandomDoubleNumber(deviceRngs[deviceId], 0, 100);
+		double taskTypePercentage = 0;
+		for (int j=0; j<SimSettings.getInstance().getTaskLookUpTable().length; j++) {
+			taskTypePercentage += SimSettings.getInstance().getTaskLookUpTable()[j][0];
+			if(taskTypeSelector <= taskTypePercentage){
+				randomTaskType = j;
+				break;
 			}
-			if(randomTaskType == -1){
-				SimLogger.printLine("Impossible is occurred! no random task type!");
+		}
+		if(randomTaskType == -1){
+			SimLogger.printLine("Impossible is occurred! no random task type!");
+			//this device does not generate any task
+			virtualTimes[deviceId] = simulationTime;
+			return;
+		}
+
+		taskTypeOfDevices[deviceId] = randomTaskType;
+
+		double activePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][3];
+		activePeriodStartTimes[deviceId] = SimUtils.getRandomDoubleNumber(deviceRngs[deviceId],
+				SimSettings.CLIENT_ACTIVITY_START_TIME,
+				SimSettings.CLIENT_ACTIVITY_START_TIME + activePeriod);  //active period starts shortly after the simulation started (e.g. 10 seconds)
+		virtualTimes[deviceId] = activePeriodStartTimes[deviceId];
+	}
+
+	private void addTasksOfDevice(int deviceId, TaskSampler _sampler, List<TaskProperty> tasks) {
+		TaskProperty task = getNextTask(deviceId, _sampler);
+		while(task != null) {
+			tasks.add(task);
+			task = getNextTask(deviceId, _sampler);
+		}
+	}
+
+	@Override
+	public TaskProperty getNextTask(int deviceId) {
+		return getNextTask(deviceId, sampler);
+	}
+
+	private TaskProperty getNextTask(int deviceId, TaskSampler _sampler) {
+		int taskType = taskTypeOfDevices[deviceId];
+		double activePeriod = SimSettings.getInstance().getTaskLookUpTable()[taskType][3];
+		double idlePeriod = SimSettings.getInstance().getTaskLookUpTable()[taskType][4];
+		_sampler.samplingRng.attach(deviceRngs[deviceId]);
+
+		while(virtualTimes[deviceId] < simulationTime) {
+			double interval = _sampler.intervalRngList[taskType].sample();
+
+			if(interval <= 0){
+				SimLogger.printLine("Impossible is occurred! interval is " + interval + " for device " + deviceId + " time " + virtualTimes[deviceId]);
 				continue;
 			}
-			
-			taskTypeOfDevices[i] = randomTaskType;
-			
-			double poissonMean = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][2];
-			double activePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][3];
-			double idlePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][4];
-			double activePeriodStartTime = SimUtils.getRandomDoubleNumber(
-					SimSettings.CLIENT_ACTIVITY_START_TIME, 
-					SimSettings.CLIENT_ACTIVITY_START_TIME + activePeriod);  //active period starts shortly after the simulation started (e.g. 10 seconds)
-			double virtualTime = activePeriodStartTime;
-
-			ExponentialDistribution rng = new ExponentialDistribution(poissonMean);
-			while(virtualTime < simulationTime) {
-				double interval = rng.sample();
-
-				if(interval <= 0){
-					SimLogger.printLine("Impossible is occurred! interval is " + interval + " for device " + i + " time " + virtualTime);
-					continue;
-				}
-				//SimLogger.printLine(virtualTime + " -> " + interval + " for device " + i + " time ");
-				virtualTime += interval;
-				
-				if(virtualTime > activePeriodStartTime + activePeriod){
-					activePeriodStartTime = activePeriodStartTime + activePeriod + idlePeriod;
-					virtualTime = activePeriodStartTime;
-					continue;
-				}
-				
-				taskList.add(new TaskProperty(i,randomTaskType, virtualTime, expRngList));
+			//SimLogger.printLine(virtualTime + " -> " + interval + " for device " + i + " time ");
+			virtualTimes[deviceId] += interval;
+
+			if(virtualTimes[deviceId] > activePeriodStartTimes[deviceId] + activePeriod){
+				activePeriodStartTimes[deviceId] = activePeriodStartTimes[deviceId] + activePeriod + idlePeriod;
+				virtualTimes[deviceId] = activePeriodStartTimes[deviceId];
+				continue;
 			}
+
+			return new TaskProperty(deviceId, taskType, virtualTimes[deviceId], _sampler.expRngList);
 		}
+
+		return null;
 	}
 
 	@Override
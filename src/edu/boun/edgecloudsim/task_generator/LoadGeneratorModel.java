@@ -22,6 +22,7 @@ public abstract class LoadGeneratorModel {
 	protected int numberOfMobileDevices;
 	protected double simulationTime;
 	protected String simScenario;
+	protected boolean streamingEnabled;
 	
 	public LoadGeneratorModel(int _numberOfMobileDevices, double _simulationTime, String _simScenario){
 		numberOfMobileDevices=_numberOfMobileDevices;
@@ -52,4 +53,21 @@ public abstract class LoadGeneratorModel {
 	 * returns the task type (index) that the mobile device uses
 	 */
 	public abstract int getTaskTypeOfDevice(int deviceId);
+
+	/*
+	 * returns true if the tasks are provided on demand via getNextTask()
+	 * instead of filling the whole task list in initializeModel()
+	 */
+	public boolean isStreamingEnabled() {
+		return streamingEnabled;
+	}
+
+	/*
+	 * returns the next task of the device in the order of start time
+	 * or null if the device does not generate any task anymore
+	 * load generators supporting streaming mode should override it
+	 */
+	public TaskProperty getNextTask(int deviceId) {
+		return null;
+	}
 }
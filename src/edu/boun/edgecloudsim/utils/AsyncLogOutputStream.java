@@ -0,0 +1,100 @@
+/*
+ * Title:        EdgeCloudSim - Asynchronous Log Output Stream
+ *
+ * Description:
+ * AsyncLogOutputStream collects the written bytes in a buffer and
+ * hands the filled buffer to AsyncLogWriter, which writes it to the
+ * file on the I/O thread. The stream has two buffers; while one of
+ * them is being written to the disk, the other one is filled by the
+ * simulation thread.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class AsyncLogOutputStream extends OutputStream {
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int NUM_OF_BUFFERS = 2;
+
+	private FileOutputStream out;
+	private BlockingQueue<byte[]> freeBuffers;
+	private byte[] buffer;
+	private int count;
+
+	public AsyncLogOutputStream(File file, boolean append) throws IOException {
+		out = new FileOutputStream(file, append);
+		freeBuffers = new ArrayBlockingQueue<byte[]>(NUM_OF_BUFFERS);
+		for(int i=1; i<NUM_OF_BUFFERS; i++)
+			freeBuffers.add(new byte[BUFFER_SIZE]);
+		buffer = new byte[BUFFER_SIZE];
+		count = 0;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if(count == buffer.length)
+			handOff();
+		buffer[count++] = (byte)b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while(len > 0) {
+			if(count == buffer.length)
+				handOff();
+			int length = Math.min(len, buffer.length - count);
+			System.arraycopy(b, off, buffer, count, length);
+			count += length;
+			off += length;
+			len -= length;
+		}
+	}
+
+	/**
+	 * hands the buffered bytes to the I/O thread, it does not wait for the disk
+	 */
+	@Override
+	public void flush() throws IOException {
+		if(count > 0)
+			handOff();
+	}
+
+	/**
+	 * the file is closed by the I/O thread after the pending buffers are written
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+		AsyncLogWriter.submit(new AsyncLogWriter.WriteJob() {
+			@Override
+			public void run() throws IOException {
+				out.close();
+			}
+		});
+	}
+
+	private void handOff() throws IOException {
+		final byte[] data = buffer;
+		final int length = count;
+		AsyncLogWriter.submit(new AsyncLogWriter.WriteJob() {
+			@Override
+			public void run() throws IOException {
+				out.write(data, 0, length);
+				freeBuffers.add(data);
+			}
+		});
+
+		//waits until the I/O thread writes one of the buffers
+		buffer = AsyncLogWriter.take(freeBuffers);
+		count = 0;
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Title:        EdgeCloudSim - Asynchronous Log Writer
+ *
+ * Description:
+ * AsyncLogWriter executes the file write jobs of the loggers on a
+ * background I/O thread, so that the simulation thread does not wait
+ * for the disk. The jobs are executed in the order they are submitted.
+ *
+ * The job queue is bounded; if the I/O thread falls behind, the
+ * simulation thread waits while submitting a new job. The loggers
+ * recycle their buffers through their own bounded pools, so the memory
+ * used for the pending writes is limited as well.
+ *
+ * The I/O thread is started when the first job is submitted. The
+ * pending jobs are completed before the JVM exits. If a job fails, the
+ * simulation is terminated; the threads waiting for the I/O thread stop
+ * waiting when it is not running anymore, so they cannot hang the JVM.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncLogWriter {
+	private static final int QUEUE_CAPACITY = 64;
+	private static final long WAIT_INTERVAL = 100; //ms, the I/O thread is checked in each interval
+
+	public interface WriteJob {
+		void run() throws IOException;
+	}
+
+	private static BlockingQueue<WriteJob> jobs = new ArrayBlockingQueue<WriteJob>(QUEUE_CAPACITY);
+	private static volatile Thread ioThread = null;
+	private static volatile boolean failed = false;
+
+	/**
+	 * adds the job to the queue, waits if the queue is full
+	 */
+	public static void submit(WriteJob job) {
+		startIoThread();
+		try {
+			while(!jobs.offer(job, WAIT_INTERVAL, TimeUnit.MILLISECONDS)) {
+				if(!isRunning())
+					terminate("Log writer is stopped!");
+			}
+		} catch (InterruptedException e) {
+			terminate("Log writer is interrupted!");
+		}
+	}
+
+	/**
+	 * takes an element from a queue which is refilled by the jobs of the
+	 * I/O thread, such as a pool of free buffers; waits if the queue is
+	 * empty, but throws an exception if the I/O thread is not running
+	 */
+	public static <T> T take(BlockingQueue<T> queue) throws IOException {
+		try {
+			while(true) {
+				T element = queue.poll(WAIT_INTERVAL, TimeUnit.MILLISECONDS);
+				if(element != null)
+					return element;
+				if(!isRunning())
+					throw new IOException("Log writer is stopped!");
+			}
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException("Log writer is interrupted!");
+		}
+	}
+
+	/**
+	 * waits until all jobs submitted before calling this method are completed
+	 */
+	public static void waitForCompletion() {
+		if(ioThread == null || failed)
+			return;
+
+		final CountDownLatch latch = new CountDownLatch(1);
+		submit(new WriteJob() {
+			@Override
+			public void run() {
+				latch.countDown();
+			}
+		});
+
+		try {
+			//the jobs are not completed if the I/O thread stops, the failure is already reported
+			while(!latch.await(WAIT_INTERVAL, TimeUnit.MILLISECONDS)) {
+				if(!isRunning())
+					return;
+			}
+		} catch (InterruptedException e) {
+			terminate("Log writer is interrupted!");
+		}
+	}
+
+	private static boolean isRunning() {
+		return !failed && ioThread != null && ioThread.isAlive();
+	}
+
+	private static void terminate(String message) {
+		SimLogger.printLine(message + " Terminating simulation...");
+		System.exit(1);
+	}
+
+	private static synchronized void startIoThread() {
+		if(ioThread != null)
+			return;
+
+		ioThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while(true) {
+					try {
+						jobs.take().run();
+					} catch (InterruptedException e) {
+						return;
+					} catch (Throwable e) {
+						//the waiting threads are not notified anymore, they stop waiting when failed is set
+						failed = true;
+						SimLogger.printLine("Log file cannot be written! Terminating simulation...");
+						e.printStackTrace();
+						System.exit(1);
+					}
+				}
+			}
+		}, "EdgeCloudSim log writer");
+		ioThread.setDaemon(true);
+		ioThread.start();
+
+		//daemon threads are not stopped before the shutdown hooks are completed
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			@Override
+			public void run() {
+				waitForCompletion();
+			}
+		}));
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Title:        EdgeCloudSim - Deep Log Converter
+ *
+ * Description:
+ * DeepLogConverter converts the binary deep log files created by
+ * DeepLogWriter to the text format used by SimLogger, so that the
+ * existing matlab scripts can be used to analyze the results.
+ *
+ * Usage: DeepLogConverter <binary log file> <text log file>
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+public class DeepLogConverter {
+	public static void main(String[] args) {
+		if(args.length != 2) {
+			System.out.println("Usage: DeepLogConverter <binary log file> <text log file>");
+			System.exit(1);
+		}
+
+		try {
+			int numOfRows = convert(new File(args[0]), new File(args[1]));
+			System.out.println(numOfRows + " rows are converted.");
+		} catch (IOException e) {
+			System.out.println("Deep log file cannot be converted!");
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * writes the rows of the binary log file to the text log file
+	 * returns the number of converted rows
+	 */
+	public static int convert(File binaryFile, File textFile) throws IOException {
+		int numOfRows = 0;
+		DeepLogReader reader = new DeepLogReader(binaryFile);
+		BufferedWriter bw = new BufferedWriter(new FileWriter(textFile));
+		try {
+			bw.write("#auto generated file!");
+			bw.newLine();
+			while(reader.nextRow()) {
+				bw.write(reader.getRowAsText());
+				bw.newLine();
+				numOfRows++;
+			}
+		}
+		finally {
+			bw.close();
+			reader.close();
+		}
+		return numOfRows;
+	}
+}
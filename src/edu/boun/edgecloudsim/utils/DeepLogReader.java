@@ -0,0 +1,205 @@
+/*
+ * Title:        EdgeCloudSim - Deep Log Reader
+ *
+ * Description:
+ * DeepLogReader reads the binary deep log files created by DeepLogWriter
+ * block by block. The values of the current row can be accessed via
+ * the column indexes defined in DeepLogWriter, or the row can be
+ * formatted in the same way with the text based deep log files.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+
+public class DeepLogReader {
+	private FileChannel channel;
+	private boolean compressed;
+	private Inflater inflater;
+
+	private int[][] intColumns;
+	private double[][] doubleColumns;
+	private int numOfRows;
+	private int currentRow;
+
+	private ByteBuffer blockHeader;
+	private ByteBuffer storedBuffer;
+	private byte[] rawBuffer;
+
+	public DeepLogReader(File file) throws IOException {
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+		ByteBuffer header = ByteBuffer.allocate(DeepLogWriter.HEADER_LENGTH);
+		if(!readFully(header) || header.getInt() != DeepLogWriter.MAGIC) {
+			channel.close();
+			throw new IOException(file.getName() + " is not a deep log file!");
+		}
+		int version = header.getInt();
+		if(version != DeepLogWriter.VERSION) {
+			channel.close();
+			throw new IOException("Unsupported deep log file version: " + version);
+		}
+		compressed = header.get() == 1;
+		if(compressed)
+			inflater = new Inflater();
+
+		intColumns = new int[DeepLogWriter.NUM_OF_INT_COLUMNS][DeepLogWriter.BLOCK_SIZE];
+		doubleColumns = new double[DeepLogWriter.NUM_OF_DOUBLE_COLUMNS][DeepLogWriter.BLOCK_SIZE];
+		blockHeader = ByteBuffer.allocate(DeepLogWriter.BLOCK_HEADER_LENGTH);
+		storedBuffer = ByteBuffer.allocate(DeepLogWriter.BLOCK_SIZE * DeepLogWriter.ROW_LENGTH);
+		rawBuffer = new byte[DeepLogWriter.BLOCK_SIZE * DeepLogWriter.ROW_LENGTH];
+		numOfRows = 0;
+		currentRow = -1;
+	}
+
+	/**
+	 * moves to the next row, returns false if there is no more row
+	 */
+	public boolean nextRow() throws IOException {
+		currentRow++;
+		if(currentRow < numOfRows)
+			return true;
+
+		if(!readBlock())
+			return false;
+
+		currentRow = 0;
+		return true;
+	}
+
+	public int getInt(int column) {
+		return intColumns[column][currentRow];
+	}
+
+	public double getDouble(int column) {
+		return doubleColumns[column][currentRow];
+	}
+
+	public SimLogger.TASK_STATUS getStatus() {
+		return SimLogger.TASK_STATUS.values()[getInt(DeepLogWriter.STATUS)];
+	}
+
+	/**
+	 * returns the current row in the format of the text based deep log files
+	 */
+	public String getRowAsText() {
+		StringBuilder result = new StringBuilder();
+		result.append(getInt(DeepLogWriter.TASK_ID)).append(SimSettings.DELIMITER)
+			.append(getInt(DeepLogWriter.DEVICE_ID)).append(SimSettings.DELIMITER)
+			.append(getInt(DeepLogWriter.DATACENTER_ID)).append(SimSettings.DELIMITER)
+			.append(getInt(DeepLogWriter.HOST_ID)).append(SimSettings.DELIMITER)
+			.append(getInt(DeepLogWriter.VM_ID)).append(SimSettings.DELIMITER)
+			.append(getInt(DeepLogWriter.VM_TYPE)).append(SimSettings.DELIMITER)
+			.append(getInt(DeepLogWriter.TASK_TYPE)).append(SimSettings.DELIMITER)
+			.append(getInt(DeepLogWriter.TASK_LENGTH)).append(SimSettings.DELIMITER)
+			.append(getInt(DeepLogWriter.TASK_INPUT_SIZE)).append(SimSettings.DELIMITER)
+			.append(getInt(DeepLogWriter.TASK_OUTPUT_SIZE)).append(SimSettings.DELIMITER)
+			.append(getDouble(DeepLogWriter.START_TIME)).append(SimSettings.DELIMITER)
+			.append(getDouble(DeepLogWriter.END_TIME)).append(SimSettings.DELIMITER);
+
+		SimLogger.TASK_STATUS status = getStatus();
+		if (status == SimLogger.TASK_STATUS.COMLETED){
+			result.append(getDouble(DeepLogWriter.NETWORK_DELAY)).append(SimSettings.DELIMITER)
+				.append(getDouble(DeepLogWriter.LAN_DELAY)).append(SimSettings.DELIMITER)
+				.append(getDouble(DeepLogWriter.MAN_DELAY)).append(SimSettings.DELIMITER)
+				.append(getDouble(DeepLogWriter.WAN_DELAY)).append(SimSettings.DELIMITER)
+				.append(getDouble(DeepLogWriter.GSM_DELAY));
+		}
+		else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY)
+			result.append("1"); // failure reason 1
+		else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH)
+			result.append("2"); // failure reason 2
+		else if (status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH)
+			result.append("3"); // failure reason 3
+		else if (status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY)
+			result.append("4"); // failure reason 4
+		else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE)
+			result.append("5"); // failure reason 5
+		else
+			result.append("0"); // default failure reason
+
+		return result.toString();
+	}
+
+	public void close() throws IOException {
+		if(inflater != null)
+			inflater.end();
+		channel.close();
+	}
+
+	private boolean readBlock() throws IOException {
+		blockHeader.clear();
+		if(!readFully(blockHeader))
+			return false;
+
+		int rows = blockHeader.getInt();
+		int rawLength = blockHeader.getInt();
+		int storedLength = blockHeader.getInt();
+
+		//compressed block may be slightly larger than the raw block
+		if(storedLength > storedBuffer.capacity())
+			storedBuffer = ByteBuffer.allocate(storedLength);
+		storedBuffer.clear();
+		storedBuffer.limit(storedLength);
+		if(!readFully(storedBuffer))
+			throw new EOFException("Unexpected end of deep log file!");
+
+		ByteBuffer data = storedBuffer;
+		if(compressed) {
+			inflater.reset();
+			inflater.setInput(storedBuffer.array(), 0, storedLength);
+			try {
+				int length = 0;
+				while(length < rawLength && !inflater.finished() && !inflater.needsInput())
+					length += inflater.inflate(rawBuffer, length, rawLength - length);
+				if(length != rawLength)
+					throw new IOException("Corrupted deep log block!");
+			} catch (DataFormatException e) {
+				throw new IOException("Corrupted deep log block!", e);
+			}
+			data = ByteBuffer.wrap(rawBuffer, 0, rawLength);
+		}
+
+		for(int c=0; c<DeepLogWriter.NUM_OF_INT_COLUMNS; c++)
+			for(int i=0; i<rows; i++)
+				intColumns[c][i] = data.getInt();
+		for(int c=0; c<DeepLogWriter.NUM_OF_DOUBLE_COLUMNS; c++)
+			for(int i=0; i<rows; i++)
+				doubleColumns[c][i] = data.getDouble();
+
+		numOfRows = rows;
+		return true;
+	}
+
+	/**
+	 * fills the remaining part of the buffer and flips it
+	 * returns false if the end of file is reached before reading any byte
+	 */
+	private boolean readFully(ByteBuffer buffer) throws IOException {
+		boolean empty = true;
+		while(buffer.hasRemaining()) {
+			int count = channel.read(buffer);
+			if(count < 0) {
+				if(empty)
+					return false;
+				throw new EOFException("Unexpected end of deep log file!");
+			}
+			if(count > 0)
+				empty = false;
+		}
+		buffer.flip();
+		return true;
+	}
+}
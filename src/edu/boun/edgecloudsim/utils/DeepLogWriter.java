@@ -0,0 +1,238 @@
+/*
+ * Title:        EdgeCloudSim - Deep Log Writer
+ *
+ * Description:
+ * DeepLogWriter saves the task results in a binary, columnar format
+ * as an alternative to the text based deep file logging of SimLogger.
+ * Building and formatting a text line for each task is avoided; the
+ * values are stored in fixed width primitive columns, and a block of
+ * rows is written to the file at once via a FileChannel.
+ *
+ * File format (big endian):
+ * header: magic number (int), version (int), compression flag (byte)
+ * block:  number of rows (int), raw length (int), stored length (int),
+ *         followed by the int columns and the double columns; each
+ *         column keeps the values of all rows in the block. If the
+ *         compression is enabled, the columns are deflated.
+ *
+ * DeepLogReader reads the files, DeepLogConverter converts them to
+ * the text format used by SimLogger.
+ *
+ * In asynchronous mode, the writer has two column blocks; a filled
+ * block is encoded and written by the I/O thread of AsyncLogWriter
+ * while the other one is filled by the simulation thread.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+public class DeepLogWriter {
+	public static final int MAGIC = 0x45435344; //"ECSD"
+	public static final int VERSION = 1;
+	public static final int BLOCK_SIZE = 8192; //rows in a block
+
+	//int columns
+	public static final int TASK_ID = 0;
+	public static final int DEVICE_ID = 1;
+	public static final int DATACENTER_ID = 2;
+	public static final int HOST_ID = 3;
+	public static final int VM_ID = 4;
+	public static final int VM_TYPE = 5;
+	public static final int TASK_TYPE = 6;
+	public static final int TASK_LENGTH = 7;
+	public static final int TASK_INPUT_SIZE = 8;
+	public static final int TASK_OUTPUT_SIZE = 9;
+	public static final int STATUS = 10; //ordinal of SimLogger.TASK_STATUS
+	public static final int NUM_OF_INT_COLUMNS = 11;
+
+	//double columns
+	public static final int START_TIME = 0;
+	public static final int END_TIME = 1;
+	public static final int NETWORK_DELAY = 2;
+	public static final int LAN_DELAY = 3;
+	public static final int MAN_DELAY = 4;
+	public static final int WAN_DELAY = 5;
+	public static final int GSM_DELAY = 6;
+	public static final int NUM_OF_DOUBLE_COLUMNS = 7;
+
+	public static final int HEADER_LENGTH = 9;
+	public static final int BLOCK_HEADER_LENGTH = 12;
+	public static final int ROW_LENGTH = NUM_OF_INT_COLUMNS * 4 + NUM_OF_DOUBLE_COLUMNS * 8;
+
+	private static class ColumnBlock {
+		private int[][] intColumns = new int[NUM_OF_INT_COLUMNS][BLOCK_SIZE];
+		private double[][] doubleColumns = new double[NUM_OF_DOUBLE_COLUMNS][BLOCK_SIZE];
+		private int numOfRows = 0;
+	}
+
+	private FileChannel channel;
+	private boolean compressed;
+	private boolean async;
+	private Deflater deflater;
+
+	//block filled by the simulation thread
+	private ColumnBlock block;
+	private BlockingQueue<ColumnBlock> freeBlocks;
+
+	//used by the thread writing the blocks
+	private ByteBuffer rawBuffer;
+	private byte[] compressedBuffer;
+	private ByteBuffer blockHeader;
+
+	public DeepLogWriter(File file, boolean _compressed) throws IOException {
+		this(file, _compressed, false);
+	}
+
+	/**
+	 * if async is true, the blocks are written by the I/O thread of AsyncLogWriter
+	 */
+	public DeepLogWriter(File file, boolean _compressed, boolean _async) throws IOException {
+		compressed = _compressed;
+		async = _async;
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+		block = new ColumnBlock();
+		if(async) {
+			freeBlocks = new ArrayBlockingQueue<ColumnBlock>(1);
+			freeBlocks.add(new ColumnBlock());
+		}
+
+		rawBuffer = ByteBuffer.allocate(BLOCK_SIZE * ROW_LENGTH);
+		blockHeader = ByteBuffer.allocate(BLOCK_HEADER_LENGTH);
+		if(compressed) {
+			deflater = new Deflater(Deflater.BEST_SPEED);
+			compressedBuffer = new byte[BLOCK_SIZE * ROW_LENGTH];
+		}
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+		header.putInt(MAGIC).putInt(VERSION).put((byte)(compressed ? 1 : 0));
+		header.flip();
+		writeFully(header);
+	}
+
+	/**
+	 * sets the value of the given int column for the current row
+	 */
+	public void setInt(int column, int value) {
+		block.intColumns[column][block.numOfRows] = value;
+	}
+
+	/**
+	 * sets the value of the given double column for the current row
+	 */
+	public void setDouble(int column, double value) {
+		block.doubleColumns[column][block.numOfRows] = value;
+	}
+
+	/**
+	 * completes the current row, all columns must be set before
+	 */
+	public void endRow() throws IOException {
+		block.numOfRows++;
+		if(block.numOfRows == BLOCK_SIZE)
+			flushBlock();
+	}
+
+	/**
+	 * writes the remaining rows and closes the file
+	 * in asynchronous mode, the file is closed by the I/O thread
+	 */
+	public void close() throws IOException {
+		flushBlock();
+		if(!async) {
+			closeFile();
+			return;
+		}
+
+		AsyncLogWriter.submit(new AsyncLogWriter.WriteJob() {
+			@Override
+			public void run() throws IOException {
+				closeFile();
+			}
+		});
+	}
+
+	private void closeFile() throws IOException {
+		if(deflater != null)
+			deflater.end();
+		channel.close();
+	}
+
+	private void flushBlock() throws IOException {
+		if(block.numOfRows == 0)
+			return;
+
+		if(!async) {
+			writeBlock(block);
+			block.numOfRows = 0;
+			return;
+		}
+
+		final ColumnBlock filledBlock = block;
+		AsyncLogWriter.submit(new AsyncLogWriter.WriteJob() {
+			@Override
+			public void run() throws IOException {
+				writeBlock(filledBlock);
+				filledBlock.numOfRows = 0;
+				freeBlocks.add(filledBlock);
+			}
+		});
+
+		//waits until the I/O thread writes the other block
+		block = AsyncLogWriter.take(freeBlocks);
+	}
+
+	private void writeBlock(ColumnBlock data) throws IOException {
+		int numOfRows = data.numOfRows;
+		rawBuffer.clear();
+		for(int c=0; c<NUM_OF_INT_COLUMNS; c++)
+			for(int i=0; i<numOfRows; i++)
+				rawBuffer.putInt(data.intColumns[c][i]);
+		for(int c=0; c<NUM_OF_DOUBLE_COLUMNS; c++)
+			for(int i=0; i<numOfRows; i++)
+				rawBuffer.putDouble(data.doubleColumns[c][i]);
+		rawBuffer.flip();
+
+		int rawLength = rawBuffer.remaining();
+		ByteBuffer stored = rawBuffer;
+		if(compressed) {
+			deflater.reset();
+			deflater.setInput(rawBuffer.array(), 0, rawLength);
+			deflater.finish();
+			int storedLength = 0;
+			while(!deflater.finished()) {
+				//incompressible data may be slightly larger than the raw data
+				if(storedLength == compressedBuffer.length) {
+					byte[] newBuffer = new byte[compressedBuffer.length * 2];
+					System.arraycopy(compressedBuffer, 0, newBuffer, 0, storedLength);
+					compressedBuffer = newBuffer;
+				}
+				storedLength += deflater.deflate(compressedBuffer, storedLength, compressedBuffer.length - storedLength);
+			}
+			stored = ByteBuffer.wrap(compressedBuffer, 0, storedLength);
+		}
+
+		blockHeader.clear();
+		blockHeader.putInt(numOfRows).putInt(rawLength).putInt(stored.remaining());
+		blockHeader.flip();
+		writeFully(blockHeader);
+		writeFully(stored);
+	}
+
+	private void writeFully(ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining())
+			channel.write(buffer);
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Title:        EdgeCloudSim - Int Hash Map
+ *
+ * Description:
+ * IntHashMap is a hash map with primitive int keys which uses open
+ * addressing with linear probing. Unlike HashMap<Integer, V>, the keys
+ * are not boxed and no entry object is created, so put, get and remove
+ * operations do not allocate memory unless the table grows.
+ *
+ * Null values are not supported; null is returned for missing keys.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class IntHashMap<V> implements Iterable<V> {
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private int[] keys;
+	private Object[] values; //null means empty slot
+	private int mask;
+	private int size;
+
+	public IntHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public IntHashMap(int expectedSize) {
+		int capacity = 2;
+		while(capacity < expectedSize * 2)
+			capacity *= 2;
+		allocate(capacity);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(int key) {
+		for(int slot = slotOf(key); values[slot] != null; slot = (slot + 1) & mask)
+			if(keys[slot] == key)
+				return (V)values[slot];
+		return null;
+	}
+
+	/**
+	 * returns the previous value of the key, or null if there is no such key
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value) {
+		if(value == null)
+			throw new IllegalArgumentException("null values are not supported");
+
+		int slot = slotOf(key);
+		for(; values[slot] != null; slot = (slot + 1) & mask) {
+			if(keys[slot] == key) {
+				V oldValue = (V)values[slot];
+				values[slot] = value;
+				return oldValue;
+			}
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+		size++;
+
+		//keep the load factor below 0.5 for short probe sequences
+		if(size * 2 > values.length)
+			rehash(values.length * 2);
+		return null;
+	}
+
+	/**
+	 * returns the removed value, or null if there is no such key
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(int key) {
+		int slot = slotOf(key);
+		for(; values[slot] != null; slot = (slot + 1) & mask)
+			if(keys[slot] == key)
+				break;
+
+		if(values[slot] == null)
+			return null;
+
+		V oldValue = (V)values[slot];
+		size--;
+
+		//shift the following entries back to fill the gap, so that no deleted marker is needed
+		int gap = slot;
+		for(slot = (slot + 1) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+			int home = slotOf(keys[slot]);
+			//move the entry if its home slot is not between the gap and the current slot
+			if(((slot - home) & mask) >= ((slot - gap) & mask)) {
+				keys[gap] = keys[slot];
+				values[gap] = values[slot];
+				gap = slot;
+			}
+		}
+		values[gap] = null;
+
+		return oldValue;
+	}
+
+	public void clear() {
+		for(int i=0; i<values.length; i++)
+			values[i] = null;
+		size = 0;
+	}
+
+	/**
+	 * iterates over the values in no particular order
+	 * the map must not be modified during the iteration
+	 */
+	@Override
+	public Iterator<V> iterator() {
+		return new Iterator<V>() {
+			private int nextSlot = findSlot(0);
+
+			private int findSlot(int from) {
+				while(from < values.length && values[from] == null)
+					from++;
+				return from;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return nextSlot < values.length;
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public V next() {
+				if(!hasNext())
+					throw new NoSuchElementException();
+				V value = (V)values[nextSlot];
+				nextSlot = findSlot(nextSlot + 1);
+				return value;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	private int slotOf(int key) {
+		//consecutive keys are spread over the table
+		int hash = key * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(capacity);
+
+		for(int i=0; i<oldValues.length; i++) {
+			if(oldValues[i] == null)
+				continue;
+			int slot = slotOf(oldKeys[i]);
+			while(values[slot] != null)
+				slot = (slot + 1) & mask;
+			keys[slot] = oldKeys[i];
+			values[slot] = oldValues[i];
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Title:        EdgeCloudSim - Latency Histogram
+ *
+ * Description:
+ * LatencyHistogram keeps the distribution of a latency metric in
+ * logarithmic buckets, so that the percentiles can be calculated
+ * without storing the individual values. The width of each bucket is
+ * proportional to its lower bound; therefore the relative error of
+ * the calculated percentiles is bounded by the given precision for
+ * the values within the tracked range.
+ *
+ * The memory used by a histogram does not depend on the number of
+ * recorded values, and the histograms having the same configuration
+ * can be merged, e.g. to combine the results of different iterations.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+public class LatencyHistogram {
+	public static final double DEFAULT_LOWEST_VALUE = 1e-6; //seconds
+	public static final double DEFAULT_HIGHEST_VALUE = 1e6; //seconds
+	public static final double DEFAULT_PRECISION = 0.01; //1% relative error
+
+	private double lowestValue;
+	private double highestValue;
+	private double precision;
+	private double logBase;
+	private int numOfBuckets;
+
+	//the first bucket keeps the values smaller than the lowest value,
+	//the last bucket keeps the values larger than the highest value
+	private long[] counts;
+	private long totalCount;
+	private double minValue;
+	private double maxValue;
+
+	public LatencyHistogram() {
+		this(DEFAULT_LOWEST_VALUE, DEFAULT_HIGHEST_VALUE, DEFAULT_PRECISION);
+	}
+
+	public LatencyHistogram(double _lowestValue, double _highestValue, double _precision) {
+		lowestValue = _lowestValue;
+		highestValue = _highestValue;
+		precision = _precision;
+
+		//the middle of a bucket is at most 'precision' away from its bounds
+		logBase = Math.log(1 + 2 * precision);
+		numOfBuckets = (int)Math.ceil(Math.log(highestValue / lowestValue) / logBase) + 2;
+
+		//the buckets are allocated when the first value is recorded
+		counts = null;
+		totalCount = 0;
+		minValue = Double.POSITIVE_INFINITY;
+		maxValue = Double.NEGATIVE_INFINITY;
+	}
+
+	public void recordValue(double value) {
+		if(counts == null)
+			counts = new long[numOfBuckets];
+
+		counts[getBucketIndex(value)]++;
+		totalCount++;
+		if(value < minValue)
+			minValue = value;
+		if(value > maxValue)
+			maxValue = value;
+	}
+
+	/**
+	 * adds the values of the given histogram to this histogram
+	 * the histograms must be created with the same parameters
+	 */
+	public void merge(LatencyHistogram other) {
+		if(other.numOfBuckets != numOfBuckets || other.lowestValue != lowestValue || other.precision != precision)
+			throw new IllegalArgumentException("Histograms with different parameters cannot be merged!");
+
+		if(other.totalCount == 0)
+			return;
+
+		if(counts == null)
+			counts = new long[numOfBuckets];
+
+		for(int i=0; i<numOfBuckets; i++)
+			counts[i] += other.counts[i];
+		totalCount += other.totalCount;
+		minValue = Math.min(minValue, other.minValue);
+		maxValue = Math.max(maxValue, other.maxValue);
+	}
+
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	public double getMinValue() {
+		return (totalCount == 0) ? 0 : minValue;
+	}
+
+	public double getMaxValue() {
+		return (totalCount == 0) ? 0 : maxValue;
+	}
+
+	/**
+	 * returns the value which is greater than or equal to the given
+	 * percentage of the recorded values, 0 if there is no value
+	 *
+	 * @param percentile a value between 0 and 100
+	 */
+	public double getPercentile(double percentile) {
+		if(totalCount == 0)
+			return 0;
+
+		long rank = (long)Math.ceil(percentile / 100 * totalCount);
+		if(rank < 1)
+			rank = 1;
+
+		long cumulativeCount = 0;
+		int bucket = 0;
+		for(; bucket<numOfBuckets - 1; bucket++) {
+			cumulativeCount += counts[bucket];
+			if(cumulativeCount >= rank)
+				break;
+		}
+
+		//the exact values are known for the first and the last values
+		double value = getBucketMiddle(bucket);
+		return Math.min(Math.max(value, minValue), maxValue);
+	}
+
+	private int getBucketIndex(double value) {
+		if(value < lowestValue)
+			return 0;
+
+		int index = 1 + (int)(Math.log(value / lowestValue) / logBase);
+		return Math.min(index, numOfBuckets - 1);
+	}
+
+	private double getBucketMiddle(int bucket) {
+		if(bucket == 0)
+			return minValue;
+		if(bucket == numOfBuckets - 1)
+			return maxValue;
+
+		return lowestValue * Math.exp((bucket - 0.5) * logBase);
+	}
+}
@@ -41,6 +41,11 @@ public class Location {
 	    return result;
 	}
 
+	@Override
+	public int hashCode(){
+		return 31 * xPos + yPos;
+	}
+
 	public int getServingWlanId(){
 		return servingWlanId;
 	}
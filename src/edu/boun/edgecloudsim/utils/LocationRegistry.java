@@ -0,0 +1,82 @@
+/*
+ * Title:        EdgeCloudSim - Location Registry
+ *
+ * Description:
+ * LocationRegistry keeps one shared Location object for each distinct
+ * place, so that the mobility models do not create a new Location for
+ * every query.
+ *
+ * The registry of the edge topology contains the locations of the edge
+ * datacenters first. Mobility models producing arbitrary coordinates
+ * should add them after rounding to their own resolution, e.g. to the
+ * nearest meter, to keep the number of locations bounded.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LocationRegistry {
+	private static final int INITIAL_CAPACITY = 64;
+
+	private List<Location> locations;
+	private int[] slots; //index in the locations list + 1, 0 means empty slot
+	private int mask;
+
+	public LocationRegistry() {
+		locations = new ArrayList<Location>();
+		slots = new int[INITIAL_CAPACITY];
+		mask = INITIAL_CAPACITY - 1;
+	}
+
+	/**
+	 * returns the shared location with the given properties, the location
+	 * is created and added to the registry if it does not exist
+	 */
+	public Location getLocation(int placeTypeIndex, int servingWlanId, int xPos, int yPos) {
+		int slot = slotOf(placeTypeIndex, servingWlanId, xPos, yPos);
+		for(; slots[slot] != 0; slot = (slot + 1) & mask) {
+			Location location = locations.get(slots[slot] - 1);
+			if(location.getXPos() == xPos && location.getYPos() == yPos &&
+					location.getServingWlanId() == servingWlanId &&
+					location.getPlaceTypeIndex() == placeTypeIndex)
+				return location;
+		}
+
+		Location location = new Location(placeTypeIndex, servingWlanId, xPos, yPos);
+		locations.add(location);
+		slots[slot] = locations.size();
+
+		//keep the load factor below 0.5 for short probe sequences
+		if(locations.size() * 2 > slots.length)
+			rehash(slots.length * 2);
+		return location;
+	}
+
+	public int getNumOfLocations() {
+		return locations.size();
+	}
+
+	private int slotOf(int placeTypeIndex, int servingWlanId, int xPos, int yPos) {
+		int hash = ((placeTypeIndex * 31 + servingWlanId) * 31 + xPos) * 31 + yPos;
+		hash *= 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	private void rehash(int capacity) {
+		slots = new int[capacity];
+		mask = capacity - 1;
+		for(int i=0; i<locations.size(); i++) {
+			Location location = locations.get(i);
+			int slot = slotOf(location.getPlaceTypeIndex(), location.getServingWlanId(),
+					location.getXPos(), location.getYPos());
+			while(slots[slot] != 0)
+				slot = (slot + 1) & mask;
+			slots[slot] = i + 1;
+		}
+	}
+}
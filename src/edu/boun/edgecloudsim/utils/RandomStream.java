@@ -0,0 +1,79 @@
+/*
+ * Title:        EdgeCloudSim - Random Stream
+ * 
+ * Description: 
+ * RandomStream is a fast, splittable random number generator based on
+ * SplittableRandom. It implements the RandomGenerator interface of
+ * commons-math, so it can be given to the distributions such as
+ * ExponentialDistribution. The streams are created by SimRandom.
+ * 
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.util.SplittableRandom;
+
+import org.apache.commons.math3.random.AbstractRandomGenerator;
+
+public class RandomStream extends AbstractRandomGenerator {
+	private SplittableRandom source;
+
+	public RandomStream(long seed) {
+		source = new SplittableRandom(seed);
+	}
+
+	private RandomStream(SplittableRandom _source) {
+		source = _source;
+	}
+
+	/**
+	 * returns a new stream which is statistically independent of this one
+	 */
+	public RandomStream split() {
+		return new RandomStream(source.split());
+	}
+
+	/**
+	 * makes this object draw the numbers from the given stream, so that a
+	 * distribution created with this object can be shared by many streams
+	 * 
+	 * @param stream the stream to be used until attach() is called again
+	 */
+	public void attach(RandomStream stream) {
+		source = stream.source;
+		clear();
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		source = new SplittableRandom(seed);
+		clear();
+	}
+
+	@Override
+	public double nextDouble() {
+		return source.nextDouble();
+	}
+
+	@Override
+	public int nextInt() {
+		return source.nextInt();
+	}
+
+	@Override
+	public int nextInt(int n) {
+		return source.nextInt(n);
+	}
+
+	@Override
+	public long nextLong() {
+		return source.nextLong();
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return source.nextBoolean();
+	}
+}
@@ -13,6 +13,11 @@
  * a low memory consumption. Deep file logging is performed whenever
  * a task is completed. This may cause too many file IO operation and
  * increase the time consumption!
+ * If deep_file_log_binary is enabled, the task results are saved in
+ * a binary columnar format via DeepLogWriter, which is much faster.
+ * DeepLogConverter can be used to obtain the text based files.
+ * If async_file_log_enabled is set, the files are written by the
+ * background thread of AsyncLogWriter instead of the simulation thread.
  * 
  * The basic results are kept in the memory, and saved to the files
  * at the end of the simulation. So, basic file logging does
@@ -33,13 +38,12 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.OutputStreamWriter;
+import java.util.ArrayDeque;
 import java.util.LinkedList;
-import java.util.Map;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 
-import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
 import edu.boun.edgecloudsim.utils.SimLogger.NETWORK_ERRORS;
@@ -56,23 +60,41 @@ public class SimLogger {
 		LAN_ERROR, MAN_ERROR, WAN_ERROR, GSM_ERROR, NONE
 	}
 
+	public static enum LATENCY_METRICS {
+		SERVICE_TIME, PROCESSING_TIME, NETWORK_DELAY,
+		WLAN_DELAY, MAN_DELAY, WAN_DELAY, GSM_DELAY
+	}
+
+	public static enum TIERS {
+		ALL, EDGE, CLOUD, MOBILE
+	}
+
+	//percentiles written to the latency files
+	private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
 	private long startTime;
 	private long endTime;
 	private static boolean fileLogEnabled;
 	private static boolean printLogEnabled;
 	private String filePrefix;
 	private String outputFolder;
-	private Map<Integer, LogItem> taskMap;
+	private IntHashMap<LogItem> taskMap;
+	private ArrayDeque<LogItem> logItemPool; //items of the recorded tasks are reused
 	private LinkedList<VmLoadLogItem> vmLoadList;
 	private LinkedList<ApDelayLogItem> apDelayList;
 
+	// number of devices connected to each access point, recorded periodically
+	private double[] locationLogTimes;
+	private int[][] locationLogCounts;
+	private int numOfLocationLogs;
+
 	private static SimLogger singleton = new SimLogger();
 	
 	private int numOfAppTypes;
 	
 	private File successFile = null, failFile = null;
-	private FileWriter successFW = null, failFW = null;
 	private BufferedWriter successBW = null, failBW = null;
+	private DeepLogWriter successDLW = null, failDLW = null;
 
 	// extract following values for each app type.
 	// last index is average of all app types
@@ -129,6 +151,10 @@ public class SimLogger {
 	
 	private double[] orchestratorOverhead = null;
 
+	// latency distributions of the completed tasks for each metric, app type and tier
+	// app type index numOfAppTypes keeps the distributions of all app types
+	private LatencyHistogram[][][] latencyHistograms = null;
+
 	/*
 	 * A private Constructor prevents any other class from instantiating.
 	 */
@@ -166,6 +192,17 @@ public class SimLogger {
 		return outputFolder;
 	}
 
+	/*
+	 * the files are written by the I/O thread of AsyncLogWriter
+	 * if asynchronous file logging is enabled
+	 */
+	private BufferedWriter openLogFile(File file) throws IOException {
+		if (SimSettings.getInstance().getAsyncFileLogEnabled())
+			return new BufferedWriter(new OutputStreamWriter(new AsyncLogOutputStream(file, true)));
+		else
+			return new BufferedWriter(new FileWriter(file, true));
+	}
+
 	private void appendToFile(BufferedWriter bw, String line) throws IOException {
 		bw.write(line);
 		bw.newLine();
@@ -185,21 +222,40 @@ public class SimLogger {
 		startTime = System.currentTimeMillis();
 		filePrefix = fileName;
 		outputFolder = outFolder;
-		taskMap = new HashMap<Integer, LogItem>();
+		taskMap = new IntHashMap<LogItem>();
+		logItemPool = new ArrayDeque<LogItem>();
 		vmLoadList = new LinkedList<VmLoadLogItem>();
 		apDelayList = new LinkedList<ApDelayLogItem>();
+
+		// location logs are recorded by SimManager at most once per interval
+		numOfLocationLogs = 0;
+		double locationLogInterval = SimSettings.getInstance().getLocationLogInterval();
+		if (fileLogEnabled && locationLogInterval != 0) {
+			int maxNumOfLocationLogs = (int) Math.ceil(SimSettings.getInstance().getSimulationTime() / locationLogInterval);
+			locationLogTimes = new double[maxNumOfLocationLogs];
+			locationLogCounts = new int[maxNumOfLocationLogs][SimSettings.getInstance().getNumOfEdgeDatacenters()];
+		}
 		
 		numOfAppTypes = SimSettings.getInstance().getTaskLookUpTable().length;
 		
-		if (SimSettings.getInstance().getDeepFileLoggingEnabled()) {
+		if (SimSettings.getInstance().getDeepFileLoggingEnabled() && SimSettings.getInstance().getDeepFileLogBinary()) {
+			try {
+				boolean compressed = SimSettings.getInstance().getDeepFileLogCompressed();
+				boolean async = SimSettings.getInstance().getAsyncFileLogEnabled();
+				successDLW = new DeepLogWriter(new File(outputFolder, filePrefix + "_SUCCESS.bin"), compressed, async);
+				failDLW = new DeepLogWriter(new File(outputFolder, filePrefix + "_FAIL.bin"), compressed, async);
+			} catch (IOException e) {
+				e.printStackTrace();
+				System.exit(1);
+			}
+		}
+		else if (SimSettings.getInstance().getDeepFileLoggingEnabled()) {
 			try {
 				successFile = new File(outputFolder, filePrefix + "_SUCCESS.log");
-				successFW = new FileWriter(successFile, true);
-				successBW = new BufferedWriter(successFW);
+				successBW = openLogFile(successFile);
 
 				failFile = new File(outputFolder, filePrefix + "_FAIL.log");
-				failFW = new FileWriter(failFile, true);
-				failBW = new BufferedWriter(failFW);
+				failBW = openLogFile(failFile);
 				
 				appendToFile(successBW, "#auto generated file!");
 				appendToFile(failBW, "#auto generated file!");
@@ -263,12 +319,23 @@ public class SimLogger {
 		refectedTaskDuetoWlanRange = new int[numOfAppTypes + 1];
 
 		orchestratorOverhead = new double[numOfAppTypes + 1];
+
+		latencyHistograms = new LatencyHistogram[LATENCY_METRICS.values().length][numOfAppTypes + 1][TIERS.values().length];
+		for (int m = 0; m < latencyHistograms.length; m++)
+			for (int i = 0; i < numOfAppTypes + 1; i++)
+				for (int t = 0; t < TIERS.values().length; t++)
+					latencyHistograms[m][i][t] = new LatencyHistogram();
 	}
 
 	public void addLog(int deviceId, int taskId, int taskType,
 			int taskLenght, int taskInputType, int taskOutputSize) {
 		// printLine(taskId+"->"+taskStartTime);
-		taskMap.put(taskId, new LogItem(deviceId, taskType, taskLenght, taskInputType, taskOutputSize));
+		LogItem item = logItemPool.poll();
+		if (item == null)
+			item = new LogItem(deviceId, taskType, taskLenght, taskInputType, taskOutputSize);
+		else
+			item.init(deviceId, taskType, taskLenght, taskInputType, taskOutputSize);
+		taskMap.put(taskId, item);
 	}
 
 	public void taskStarted(int taskId, double time) {
@@ -334,6 +401,15 @@ public class SimLogger {
 			vmLoadList.add(new VmLoadLogItem(time, loadOnEdge, loadOnCloud, loadOnMobile));
 	}
 
+	/*
+	 * the array index is the serving WLAN id, the values are copied
+	 */
+	public void addLocationLog(double time, int[] deviceCounts) {
+		System.arraycopy(deviceCounts, 0, locationLogCounts[numOfLocationLogs], 0, locationLogCounts[numOfLocationLogs].length);
+		locationLogTimes[numOfLocationLogs] = time;
+		numOfLocationLogs++;
+	}
+
 	public void addApDelayLog(double time, double[] apUploadDelays, double[] apDownloadDelays) {
 		if(SimSettings.getInstance().getApDelayLogInterval() != 0)
 			apDelayList.add(new ApDelayLogItem(time, apUploadDelays, apDownloadDelays));
@@ -342,32 +418,26 @@ public class SimLogger {
 	public void simStopped() throws IOException {
 		endTime = System.currentTimeMillis();
 		File vmLoadFile = null, locationFile = null, apUploadDelayFile = null, apDownloadDelayFile = null;
-		FileWriter vmLoadFW = null, locationFW = null, apUploadDelayFW = null, apDownloadDelayFW = null;
 		BufferedWriter vmLoadBW = null, locationBW = null, apUploadDelayBW = null, apDownloadDelayBW = null;
 
 		// Save generic results to file for each app type. last index is average
 		// of all app types
 		File[] genericFiles = new File[numOfAppTypes + 1];
-		FileWriter[] genericFWs = new FileWriter[numOfAppTypes + 1];
 		BufferedWriter[] genericBWs = new BufferedWriter[numOfAppTypes + 1];
 
 		// open all files and prepare them for write
 		if (fileLogEnabled) {
 			vmLoadFile = new File(outputFolder, filePrefix + "_VM_LOAD.log");
-			vmLoadFW = new FileWriter(vmLoadFile, true);
-			vmLoadBW = new BufferedWriter(vmLoadFW);
+			vmLoadBW = openLogFile(vmLoadFile);
 
 			locationFile = new File(outputFolder, filePrefix + "_LOCATION.log");
-			locationFW = new FileWriter(locationFile, true);
-			locationBW = new BufferedWriter(locationFW);
+			locationBW = openLogFile(locationFile);
 
 			apUploadDelayFile = new File(outputFolder, filePrefix + "_AP_UPLOAD_DELAY.log");
-			apUploadDelayFW = new FileWriter(apUploadDelayFile, true);
-			apUploadDelayBW = new BufferedWriter(apUploadDelayFW);
+			apUploadDelayBW = openLogFile(apUploadDelayFile);
 
 			apDownloadDelayFile = new File(outputFolder, filePrefix + "_AP_DOWNLOAD_DELAY.log");
-			apDownloadDelayFW = new FileWriter(apDownloadDelayFile, true);
-			apDownloadDelayBW = new BufferedWriter(apDownloadDelayFW);
+			apDownloadDelayBW = openLogFile(apDownloadDelayFile);
 
 			for (int i = 0; i < numOfAppTypes + 1; i++) {
 				String fileName = "ALL_APPS_GENERIC.log";
@@ -381,8 +451,7 @@ public class SimLogger {
 				}
 
 				genericFiles[i] = new File(outputFolder, filePrefix + "_" + fileName);
-				genericFWs[i] = new FileWriter(genericFiles[i], true);
-				genericBWs[i] = new BufferedWriter(genericFWs[i]);
+				genericBWs[i] = openLogFile(genericFiles[i]);
 				appendToFile(genericBWs[i], "#auto generated file!");
 			}
 
@@ -393,9 +462,7 @@ public class SimLogger {
 		}
 
 		//the tasks in the map is not completed yet!
-		for (Map.Entry<Integer, LogItem> entry : taskMap.entrySet()) {
-			LogItem value = entry.getValue();
-
+		for (LogItem value : taskMap) {
 			uncompletedTask[value.getTaskType()]++;
 			if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
 				uncompletedTaskOnCloud[value.getTaskType()]++;
@@ -458,6 +525,11 @@ public class SimLogger {
 		refectedTaskDuetoWlanRange[numOfAppTypes] = IntStream.of(refectedTaskDuetoWlanRange).sum();
 
 		orchestratorOverhead[numOfAppTypes] = DoubleStream.of(orchestratorOverhead).sum();
+
+		for (int m = 0; m < latencyHistograms.length; m++)
+			for (int i = 0; i < numOfAppTypes; i++)
+				for (int t = 0; t < TIERS.values().length; t++)
+					latencyHistograms[m][numOfAppTypes][t].merge(latencyHistograms[m][i][t]);
 		
 		// calculate server load
 		double totalVmLoadOnEdge = 0;
@@ -474,26 +546,13 @@ public class SimLogger {
 		if (fileLogEnabled) {
 			// write location info to file for each location
 			// assuming each location has only one access point
-			double locationLogInterval = SimSettings.getInstance().getLocationLogInterval();
-			if(locationLogInterval != 0) {
-				for (int t = 1; t < (SimSettings.getInstance().getSimulationTime() / locationLogInterval); t++) {
-					int[] locationInfo = new int[SimSettings.getInstance().getNumOfEdgeDatacenters()];
-					Double time = t * SimSettings.getInstance().getLocationLogInterval();
-					
-					if (time < SimSettings.CLIENT_ACTIVITY_START_TIME)
-						continue;
-
-					for (int i = 0; i < SimManager.getInstance().getNumOfMobileDevice(); i++) {
-						Location loc = SimManager.getInstance().getMobilityModel().getLocation(i, time);
-						locationInfo[loc.getServingWlanId()]++;
-					}
+			// the values are collected during the simulation
+			for (int t = 0; t < numOfLocationLogs; t++) {
+				locationBW.write(Double.toString(locationLogTimes[t]));
+				for (int i = 0; i < locationLogCounts[t].length; i++)
+					locationBW.write(SimSettings.DELIMITER + locationLogCounts[t][i]);
 
-					locationBW.write(time.toString());
-					for (int i = 0; i < locationInfo.length; i++)
-						locationBW.write(SimSettings.DELIMITER + locationInfo[i]);
-
-					locationBW.newLine();
-				}
+				locationBW.newLine();
 			}
 			
 			// write delay info to file for each access point
@@ -641,8 +700,31 @@ public class SimLogger {
 				}
 			}
 
+			// write latency percentiles to file for each app type
+			for (int i = 0; i < numOfAppTypes + 1; i++) {
+				String fileName = "ALL_APPS_LATENCY.log";
+
+				if (i < numOfAppTypes) {
+					// if related app is not used in this simulation, just discard it
+					if (SimSettings.getInstance().getTaskLookUpTable()[i][0] == 0)
+						continue;
+
+					fileName = SimSettings.getInstance().getTaskName(i) + "_LATENCY.log";
+				}
+
+				BufferedWriter latencyBW = openLogFile(new File(outputFolder, filePrefix + "_" + fileName));
+				appendToFile(latencyBW, "#auto generated file!");
+				for (LATENCY_METRICS metric : LATENCY_METRICS.values())
+					appendToFile(latencyBW, getPercentiles(metric, i));
+				latencyBW.close();
+			}
+
 			// close open files
-			if (SimSettings.getInstance().getDeepFileLoggingEnabled()) {
+			if (SimSettings.getInstance().getDeepFileLoggingEnabled() && SimSettings.getInstance().getDeepFileLogBinary()) {
+				successDLW.close();
+				failDLW.close();
+			}
+			else if (SimSettings.getInstance().getDeepFileLoggingEnabled()) {
 				successBW.close();
 				failBW.close();
 			}
@@ -738,6 +820,20 @@ public class SimLogger {
 				+ ", " + "GSM delay: "
 				+ String.format("%.6f", gsmDelay[numOfAppTypes] / (double) gsmUsage[numOfAppTypes]) + ")");
 
+		LatencyHistogram serviceTimes = latencyHistograms[LATENCY_METRICS.SERVICE_TIME.ordinal()][numOfAppTypes][TIERS.ALL.ordinal()];
+		LatencyHistogram networkDelays = latencyHistograms[LATENCY_METRICS.NETWORK_DELAY.ordinal()][numOfAppTypes][TIERS.ALL.ordinal()];
+		printLine("service time p50/p90/p99/p99.9: "
+				+ String.format("%.6f", serviceTimes.getPercentile(50)) + "/"
+				+ String.format("%.6f", serviceTimes.getPercentile(90)) + "/"
+				+ String.format("%.6f", serviceTimes.getPercentile(99)) + "/"
+				+ String.format("%.6f", serviceTimes.getPercentile(99.9)) + " seconds");
+
+		printLine("network delay p50/p90/p99/p99.9: "
+				+ String.format("%.6f", networkDelays.getPercentile(50)) + "/"
+				+ String.format("%.6f", networkDelays.getPercentile(90)) + "/"
+				+ String.format("%.6f", networkDelays.getPercentile(99)) + "/"
+				+ String.format("%.6f", networkDelays.getPercentile(99.9)) + " seconds");
+
 		printLine("average server utilization Edge/Cloud/Mobile: " 
 				+ String.format("%.6f", totalVmLoadOnEdge / (double) vmLoadList.size()) + "/"
 				+ String.format("%.6f", totalVmLoadOnCloud / (double) vmLoadList.size()) + "/"
@@ -750,6 +846,7 @@ public class SimLogger {
 
 		// clear related collections (map list etc.)
 		taskMap.clear();
+		logItemPool.clear();
 		vmLoadList.clear();
 		apDelayList.clear();
 	}
@@ -757,9 +854,68 @@ public class SimLogger {
 	private void recordLog(int taskId){
 		LogItem value = taskMap.remove(taskId);
 		
-		if (value.isInWarmUpPeriod())
+		if (!value.isInWarmUpPeriod())
+			recordResult(taskId, value);
+
+		//the results are already written, the item can be reused
+		logItemPool.push(value);
+	}
+
+	public LatencyHistogram getLatencyHistogram(LATENCY_METRICS metric, int appType, TIERS tier) {
+		return latencyHistograms[metric.ordinal()][appType][tier.ordinal()];
+	}
+
+	private void recordLatency(LATENCY_METRICS metric, int appType, TIERS tier, double value) {
+		latencyHistograms[metric.ordinal()][appType][tier.ordinal()].recordValue(value);
+		latencyHistograms[metric.ordinal()][appType][TIERS.ALL.ordinal()].recordValue(value);
+	}
+
+	private void recordLatencies(LogItem value) {
+		TIERS tier = TIERS.EDGE;
+		if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
+			tier = TIERS.CLOUD;
+		else if (value.getVmType() == SimSettings.VM_TYPES.MOBILE_VM.ordinal())
+			tier = TIERS.MOBILE;
+
+		recordLatency(LATENCY_METRICS.SERVICE_TIME, value.getTaskType(), tier, value.getServiceTime());
+
+		// the tasks executed on the mobile device do not use the network
+		if (tier == TIERS.MOBILE) {
+			recordLatency(LATENCY_METRICS.PROCESSING_TIME, value.getTaskType(), tier, value.getServiceTime());
 			return;
+		}
+
+		recordLatency(LATENCY_METRICS.PROCESSING_TIME, value.getTaskType(), tier, value.getServiceTime() - value.getNetworkDelay());
+		recordLatency(LATENCY_METRICS.NETWORK_DELAY, value.getTaskType(), tier, value.getNetworkDelay());
+
+		// link delays are recorded only for the links used by the task
+		if(value.getNetworkDelay(NETWORK_DELAY_TYPES.WLAN_DELAY) != 0)
+			recordLatency(LATENCY_METRICS.WLAN_DELAY, value.getTaskType(), tier, value.getNetworkDelay(NETWORK_DELAY_TYPES.WLAN_DELAY));
+		if(value.getNetworkDelay(NETWORK_DELAY_TYPES.MAN_DELAY) != 0)
+			recordLatency(LATENCY_METRICS.MAN_DELAY, value.getTaskType(), tier, value.getNetworkDelay(NETWORK_DELAY_TYPES.MAN_DELAY));
+		if(value.getNetworkDelay(NETWORK_DELAY_TYPES.WAN_DELAY) != 0)
+			recordLatency(LATENCY_METRICS.WAN_DELAY, value.getTaskType(), tier, value.getNetworkDelay(NETWORK_DELAY_TYPES.WAN_DELAY));
+		if(value.getNetworkDelay(NETWORK_DELAY_TYPES.GSM_DELAY) != 0)
+			recordLatency(LATENCY_METRICS.GSM_DELAY, value.getTaskType(), tier, value.getNetworkDelay(NETWORK_DELAY_TYPES.GSM_DELAY));
+	}
+
+	/*
+	 * each line keeps the percentiles of a latency metric (in the order of
+	 * LATENCY_METRICS) for all tiers (in the order of TIERS)
+	 */
+	private String getPercentiles(LATENCY_METRICS metric, int appType) {
+		String result = "";
+		for (int t = 0; t < TIERS.values().length; t++) {
+			for (int p = 0; p < PERCENTILES.length; p++) {
+				if (t != 0 || p != 0)
+					result += SimSettings.DELIMITER;
+				result += Double.toString(latencyHistograms[metric.ordinal()][appType][t].getPercentile(PERCENTILES[p]));
+			}
+		}
+		return result;
+	}
 
+	private void recordResult(int taskId, LogItem value){
 		if (value.getStatus() == SimLogger.TASK_STATUS.COMLETED) {
 			completedTask[value.getTaskType()]++;
 
@@ -818,6 +974,8 @@ public class SimLogger {
 				serviceTimeOnEdge[value.getTaskType()] += value.getServiceTime();
 				processingTimeOnEdge[value.getTaskType()] += (value.getServiceTime() - value.getNetworkDelay());
 			}
+
+			recordLatencies(value);
 		} else if (value.getStatus() == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY) {
 			failedTaskDueToVmCapacity[value.getTaskType()]++;
 			
@@ -847,7 +1005,9 @@ public class SimLogger {
 		//if deep file logging is enabled, record every task result
 		if (SimSettings.getInstance().getDeepFileLoggingEnabled()){
 			try {
-				if (value.getStatus() == SimLogger.TASK_STATUS.COMLETED)
+				if (SimSettings.getInstance().getDeepFileLogBinary())
+					value.writeTo((value.getStatus() == SimLogger.TASK_STATUS.COMLETED) ? successDLW : failDLW, taskId);
+				else if (value.getStatus() == SimLogger.TASK_STATUS.COMLETED)
 					appendToFile(successBW, value.toString(taskId));
 				else
 					appendToFile(failBW, value.toString(taskId));
@@ -949,6 +1109,13 @@ class LogItem {
 	private boolean isInWarmUpPeriod;
 
 	LogItem(int _deviceId, int _taskType, int _taskLenght, int _taskInputType, int _taskOutputSize) {
+		init(_deviceId, _taskType, _taskLenght, _taskInputType, _taskOutputSize);
+	}
+
+	/*
+	 * resets all fields, so that the item can be reused for another task
+	 */
+	void init(int _deviceId, int _taskType, int _taskLenght, int _taskInputType, int _taskOutputSize) {
 		deviceId = _deviceId;
 		taskType = _taskType;
 		taskLenght = _taskLenght;
@@ -956,7 +1123,25 @@ class LogItem {
 		taskOutputSize = _taskOutputSize;
 		networkError = NETWORK_ERRORS.NONE;
 		status = SimLogger.TASK_STATUS.CREATED;
+		datacenterId = 0;
+		hostId = 0;
+		vmId = 0;
+		vmType = 0;
+		taskStartTime = 0;
 		taskEndTime = 0;
+		lanUploadDelay = 0;
+		manUploadDelay = 0;
+		wanUploadDelay = 0;
+		gsmUploadDelay = 0;
+		lanDownloadDelay = 0;
+		manDownloadDelay = 0;
+		wanDownloadDelay = 0;
+		gsmDownloadDelay = 0;
+		bwCost = 0;
+		cpuCost = 0;
+		QoE = 0;
+		orchestratorOverhead = 0;
+		isInWarmUpPeriod = false;
 	}
 	
 	public void taskStarted(double time) {
@@ -1156,6 +1341,28 @@ class LogItem {
 		return taskType;
 	}
 
+	public void writeTo(DeepLogWriter writer, int taskId) throws IOException {
+		writer.setInt(DeepLogWriter.TASK_ID, taskId);
+		writer.setInt(DeepLogWriter.DEVICE_ID, deviceId);
+		writer.setInt(DeepLogWriter.DATACENTER_ID, datacenterId);
+		writer.setInt(DeepLogWriter.HOST_ID, hostId);
+		writer.setInt(DeepLogWriter.VM_ID, vmId);
+		writer.setInt(DeepLogWriter.VM_TYPE, vmType);
+		writer.setInt(DeepLogWriter.TASK_TYPE, taskType);
+		writer.setInt(DeepLogWriter.TASK_LENGTH, taskLenght);
+		writer.setInt(DeepLogWriter.TASK_INPUT_SIZE, taskInputType);
+		writer.setInt(DeepLogWriter.TASK_OUTPUT_SIZE, taskOutputSize);
+		writer.setInt(DeepLogWriter.STATUS, status.ordinal());
+		writer.setDouble(DeepLogWriter.START_TIME, taskStartTime);
+		writer.setDouble(DeepLogWriter.END_TIME, taskEndTime);
+		writer.setDouble(DeepLogWriter.NETWORK_DELAY, getNetworkDelay());
+		writer.setDouble(DeepLogWriter.LAN_DELAY, getNetworkDelay(NETWORK_DELAY_TYPES.WLAN_DELAY));
+		writer.setDouble(DeepLogWriter.MAN_DELAY, getNetworkDelay(NETWORK_DELAY_TYPES.MAN_DELAY));
+		writer.setDouble(DeepLogWriter.WAN_DELAY, getNetworkDelay(NETWORK_DELAY_TYPES.WAN_DELAY));
+		writer.setDouble(DeepLogWriter.GSM_DELAY, getNetworkDelay(NETWORK_DELAY_TYPES.GSM_DELAY));
+		writer.endRow();
+	}
+
 	public String toString(int taskId) {
 		String result = taskId + SimSettings.DELIMITER + deviceId + SimSettings.DELIMITER + datacenterId + SimSettings.DELIMITER + hostId
 				+ SimSettings.DELIMITER + vmId + SimSettings.DELIMITER + vmType + SimSettings.DELIMITER + taskType
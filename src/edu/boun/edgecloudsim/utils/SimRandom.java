@@ -0,0 +1,72 @@
+/*
+ * Title:        EdgeCloudSim - Random Number Service
+ * 
+ * Description: 
+ * SimRandom creates the random number streams used in the simulation
+ * from a master seed. Each stream is identified by a name (e.g. the
+ * subsystem using it) and an index (e.g. the mobile device id), and its
+ * seed is derived from the master seed, the name and the index only.
+ * Therefore a stream produces the same numbers regardless of the order
+ * or the thread in which the streams are created, and a simulation can
+ * be replayed by using the same master seed.
+ * 
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+public class SimRandom {
+	private static long masterSeed = System.currentTimeMillis();
+	private static RandomStream defaultStream = getStream("default");
+
+	/**
+	 * sets the master seed and restarts the default stream
+	 */
+	public static void setMasterSeed(long seed) {
+		masterSeed = seed;
+		reset();
+	}
+
+	public static long getMasterSeed() {
+		return masterSeed;
+	}
+
+	/**
+	 * restarts the default stream, should be called before each simulation run
+	 */
+	public static void reset() {
+		defaultStream = getStream("default");
+	}
+
+	/**
+	 * returns the stream used by the helper functions in SimUtils
+	 */
+	public static RandomStream getDefaultStream() {
+		return defaultStream;
+	}
+
+	/**
+	 * returns a new stream for the given name, same as getStream(name, 0)
+	 */
+	public static RandomStream getStream(String name) {
+		return getStream(name, 0);
+	}
+
+	/**
+	 * returns a new stream for the given name and index
+	 * the same stream is returned for the same master seed, name and index
+	 */
+	public static RandomStream getStream(String name, int index) {
+		long seed = mix64(masterSeed ^ mix64(name.hashCode()));
+		seed = mix64(seed + 0x9E3779B97F4A7C15L * (index + 1L));
+		return new RandomStream(seed);
+	}
+
+	//finalizer of the SplitMix64 generator
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -11,31 +11,45 @@ package edu.boun.edgecloudsim.utils;
 
 import java.io.File;
 import java.util.Date;
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
-public class SimUtils {
+import org.apache.commons.math3.random.RandomGenerator;
 
-	public static final Random RNG = new Random(System.currentTimeMillis());
+public class SimUtils {
 
+	/**
+	 * following functions use the default stream of SimRandom
+	 */
 	public static int getRandomNumber(int start, int end) {
+		return getRandomNumber(SimRandom.getDefaultStream(), start, end);
+	}
+
+	public static double getRandomDoubleNumber(double start, double end) {
+		return getRandomDoubleNumber(SimRandom.getDefaultStream(), start, end);
+	}
+
+	public static long getRandomLongNumber(long start, long end) {
+		return getRandomLongNumber(SimRandom.getDefaultStream(), start, end);
+	}
+
+	public static int getRandomNumber(RandomGenerator rng, int start, int end) {
 		//return pd.sample();
 		long range = (long)end - (long)start + 1;
-		long fraction = (long)(range * RNG.nextDouble());
+		long fraction = (long)(range * rng.nextDouble());
 		return (int)(fraction + start);
 	}
 
-	public static double getRandomDoubleNumber(double start, double end) {
+	public static double getRandomDoubleNumber(RandomGenerator rng, double start, double end) {
 		//return pd.sample();
 		double range = end - start;
-		double fraction = (range * RNG.nextDouble());
+		double fraction = (range * rng.nextDouble());
 		return (fraction + start); 
 	}
 
-	public static long getRandomLongNumber(long start, long end) {
+	public static long getRandomLongNumber(RandomGenerator rng, long start, long end) {
 		//return pd.sample();
 		long range = (long)end - (long)start + 1;
-		long fraction = (long)(range * RNG.nextDouble());
+		long fraction = (long)(range * rng.nextDouble());
 		return (fraction + start); 
 	}
 